@@ -0,0 +1,73 @@
+// Mixed customer load for comparing platform and virtual thread request handling.
+//
+//   k6 run load-test/order-mix.js
+//   k6 run -e BASE_URL=http://localhost:8080 -e VUS=400 -e DURATION=3m load-test/order-mix.js
+//
+// Run it once against each mode on the same heap (e.g. JAVA_TOOL_OPTIONS="-Xms512m -Xmx512m") and compare
+// http_reqs (throughput), http_req_duration percentiles and the shed rate.
+import http from 'k6/http';
+import { check, sleep } from 'k6';
+import { Rate } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const USERS = ['regularuser', 'premiumuser'];
+const PRODUCT_IDS = [1, 2, 3, 4, 5, 6, 7, 8, 9, 10];
+
+const shed = new Rate('shed');
+
+export const options = {
+    scenarios: {
+        customers: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: Number(__ENV.VUS || 200) },
+                { duration: __ENV.DURATION || '2m', target: Number(__ENV.VUS || 200) },
+                { duration: '15s', target: 0 },
+            ],
+        },
+    },
+    thresholds: {
+        'http_req_duration{name:checkout}': ['p(99)<2000'],
+    },
+};
+
+// Logins are throttled per user, so each user logs in once and the tokens are shared
+export function setup() {
+    return USERS.map((username) => {
+        const response = http.post(`${BASE_URL}/api/users/login`,
+            JSON.stringify({ username, password: 'password123' }),
+            { headers: { 'Content-Type': 'application/json' } });
+        check(response, { 'logged in': (r) => r.status === 200 });
+        return response.json('token');
+    });
+}
+
+export default function (tokens) {
+    const params = (name) => ({
+        headers: {
+            Authorization: `Bearer ${tokens[__VU % tokens.length]}`,
+            'Content-Type': 'application/json',
+        },
+        tags: { name },
+    });
+    const productId = PRODUCT_IDS[Math.floor(Math.random() * PRODUCT_IDS.length)];
+    const roll = Math.random();
+
+    let response;
+    if (roll < 0.5) {
+        response = http.get(`${BASE_URL}/api/products?page=${Math.floor(Math.random() * 3)}&size=10`, params('products'));
+    } else if (roll < 0.8) {
+        response = http.get(`${BASE_URL}/api/products/${productId}`, params('product'));
+    } else if (roll < 0.9) {
+        response = http.get(`${BASE_URL}/api/orders/my-orders?size=10`, params('my-orders'));
+    } else {
+        response = http.post(`${BASE_URL}/api/orders`,
+            JSON.stringify({ items: [{ productId, quantity: 1 }] }), params('checkout'));
+    }
+
+    shed.add(response.status === 503);
+    // Orders fail with 400 once a product is out of stock; that is not a capacity problem
+    check(response, { 'not a server error': (r) => r.status < 500 || r.status === 503 });
+    sleep(Math.random() * 0.2);
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.productorder.bulkhead;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Limits how many calls of a workload run at once. A call that gets no permit within the workload's
+ * maximum wait fails with a 503. Nested calls run under the permit of the outermost one.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Bulkhead {
+
+    Workload value();
+}
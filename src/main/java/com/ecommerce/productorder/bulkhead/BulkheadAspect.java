@@ -0,0 +1,148 @@
+package com.ecommerce.productorder.bulkhead;
+
+import com.ecommerce.productorder.config.BulkheadProperties;
+import com.ecommerce.productorder.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Enforces {@link Bulkhead} with a semaphore per workload. Runs inside the cache advice, so cache hits take no
+ * permit, and outside the transaction advice, so a call waiting for a permit holds no database connection.
+ */
+@Aspect
+@Component
+@Order(BulkheadAspect.ORDER)
+@Slf4j
+public class BulkheadAspect {
+
+    /**
+     * Between the cache advice ({@code @EnableCaching} in CacheConfig) and the transaction advice, which keeps
+     * its default lowest precedence
+     */
+    public static final int ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    private static final long RETRY_AFTER_SECONDS = 1;
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    private static final ThreadLocal<Workload> ENTERED = new ThreadLocal<>();
+
+    private final Map<Workload, Compartment> compartments = new EnumMap<>(Workload.class);
+
+    public BulkheadAspect(BulkheadProperties properties, MeterRegistry meterRegistry, Environment environment) {
+        if (properties.isEnabled()) {
+            properties.getWorkloads().forEach((workload, limit) ->
+                    compartments.put(workload, new Compartment(workload, limit, meterRegistry)));
+            checkPoolSize(environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class,
+                    DEFAULT_POOL_SIZE));
+        }
+    }
+
+    private void checkPoolSize(int poolSize) {
+        int permits = compartments.values().stream().mapToInt(compartment -> compartment.maxConcurrent).sum();
+        if (permits > poolSize) {
+            log.warn("Bulkheads allow {} concurrent calls but the connection pool has {}; workloads may still wait "
+                    + "on each other for connections", permits, poolSize);
+        }
+    }
+
+    @Around("@annotation(com.ecommerce.productorder.bulkhead.Bulkhead)")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Bulkhead bulkhead = AnnotationUtils.findAnnotation(
+                AopUtils.getMostSpecificMethod(method, joinPoint.getTarget().getClass()), Bulkhead.class);
+        Compartment compartment = compartments.get(bulkhead.value());
+        if (compartment == null || ENTERED.get() != null) {
+            return joinPoint.proceed();
+        }
+
+        compartment.acquire();
+        ENTERED.set(bulkhead.value());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ENTERED.remove();
+            compartment.release();
+        }
+    }
+
+    private static final class Compartment {
+
+        private final Workload workload;
+        private final int maxConcurrent;
+        private final long maxWaitNanos;
+        private final Semaphore permits;
+        private final Timer waitTimer;
+        private final Counter rejected;
+
+        private Compartment(Workload workload, BulkheadProperties.Limit limit, MeterRegistry meterRegistry) {
+            this.workload = workload;
+            this.maxConcurrent = limit.getMaxConcurrent();
+            this.maxWaitNanos = limit.getMaxWait().toNanos();
+            this.permits = new Semaphore(maxConcurrent, true);
+
+            String tag = workload.name().toLowerCase(Locale.ROOT);
+            this.waitTimer = Timer.builder("bulkhead.wait")
+                    .description("Time spent waiting for a bulkhead permit")
+                    .tag("bulkhead", tag)
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("bulkhead.rejected")
+                    .description("Calls rejected with 503 because the bulkhead stayed full")
+                    .tag("bulkhead", tag)
+                    .register(meterRegistry);
+            Gauge.builder("bulkhead.active", permits, p -> maxConcurrent - p.availablePermits())
+                    .description("Calls holding a bulkhead permit, and so possibly a database connection")
+                    .tag("bulkhead", tag)
+                    .register(meterRegistry);
+            Gauge.builder("bulkhead.max", () -> maxConcurrent)
+                    .description("Bulkhead permits")
+                    .tag("bulkhead", tag)
+                    .register(meterRegistry);
+            Gauge.builder("bulkhead.waiting", permits, Semaphore::getQueueLength)
+                    .description("Calls waiting for a bulkhead permit")
+                    .tag("bulkhead", tag)
+                    .register(meterRegistry);
+        }
+
+        private void acquire() {
+            long start = System.nanoTime();
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServiceUnavailableException("Request interrupted, please retry", RETRY_AFTER_SECONDS);
+            } finally {
+                waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+            if (!acquired) {
+                rejected.increment();
+                log.warn("Bulkhead {} is full, rejecting call", workload);
+                throw new ServiceUnavailableException("Service is busy, please retry", RETRY_AFTER_SECONDS);
+            }
+        }
+
+        private void release() {
+            permits.release();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.ecommerce.productorder.bulkhead;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit adapted from request latency, after the gradient algorithm of Netflix's concurrency-limits.
+ * A long-term average of the round trip time stands for the unloaded latency; while recent requests take
+ * longer than that (beyond a tolerance), the limit shrinks in proportion, otherwise it grows by about its
+ * square root. Changes are smoothed and kept between the configured bounds.
+ */
+class GradientLimit {
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private final double smoothing;
+    private final double longRttFactor;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double estimatedLimit;
+    private double longRttNanos;
+    private volatile int limit;
+
+    /**
+     * @param longWindow samples averaged into the long-term round trip time
+     */
+    GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance, double smoothing, int longWindow) {
+        if (minLimit < 1 || minLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min-limit <= max-limit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.longRttFactor = 2.0 / (longWindow + 1);
+        this.estimatedLimit = clamp(initialLimit);
+        this.limit = (int) estimatedLimit;
+    }
+
+    int getLimit() {
+        return limit;
+    }
+
+    /**
+     * Records a completed request.
+     *
+     * @param rttNanos time the request took
+     * @param inflight requests in flight when it started, itself included
+     */
+    void onSample(long rttNanos, int inflight) {
+        lock.lock();
+        try {
+            double rtt = Math.max(1, rttNanos);
+            if (longRttNanos == 0) {
+                longRttNanos = rtt;
+            } else {
+                longRttNanos += (rtt - longRttNanos) * longRttFactor;
+            }
+            // Latency that dropped for good (e.g. after a slow warm-up) should not keep the baseline high
+            if (longRttNanos / rtt > 2) {
+                longRttNanos *= 0.95;
+            }
+
+            // Far below the limit, latency says nothing about how much more the service can take
+            if (inflight < estimatedLimit / 2) {
+                return;
+            }
+
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRttNanos / rtt));
+            double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+            estimatedLimit = clamp(estimatedLimit * (1 - smoothing) + newLimit * smoothing);
+            limit = (int) estimatedLimit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+}
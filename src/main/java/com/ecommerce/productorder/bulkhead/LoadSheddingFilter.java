@@ -0,0 +1,156 @@
+package com.ecommerce.productorder.bulkhead;
+
+import com.ecommerce.productorder.config.LoadSheddingProperties;
+import com.ecommerce.productorder.model.dto.response.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sheds requests with 503 once more are in flight than the service currently handles well. The limit follows
+ * observed latency ({@link GradientLimit}), and each request class may only fill its share of it, so under
+ * overload admin requests are shed first, then catalog reads, and checkouts last. Runs ahead of the security
+ * filters, so a shed request costs neither token verification nor a request thread for long.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER - 1)
+@Slf4j
+public class LoadSheddingFilter extends OncePerRequestFilter {
+
+    private final LoadSheddingProperties properties;
+    private final ObjectMapper objectMapper;
+    private final GradientLimit limit;
+    private final AtomicInteger inflight = new AtomicInteger();
+    private final List<RoutePattern> routes = new ArrayList<>();
+    private final Map<Workload, Counter> rejected = new EnumMap<>(Workload.class);
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    public LoadSheddingFilter(LoadSheddingProperties properties, ObjectMapper objectMapper,
+                              MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.limit = new GradientLimit(properties.getInitialLimit(), properties.getMinLimit(),
+                properties.getMaxLimit(), properties.getRttTolerance(), properties.getSmoothing(),
+                properties.getLongWindow());
+        properties.getRoutes().forEach((workload, route) -> route.getPaths().forEach(path ->
+                routes.add(RoutePattern.parse(path, workload))));
+
+        Gauge.builder("load.shedding.limit", limit, GradientLimit::getLimit)
+                .description("Requests currently allowed in flight")
+                .register(meterRegistry);
+        Gauge.builder("load.shedding.inflight", inflight, AtomicInteger::get)
+                .description("Requests in flight")
+                .register(meterRegistry);
+        for (Workload workload : Workload.values()) {
+            rejected.put(workload, Counter.builder("load.shedding.rejected")
+                    .description("Requests shed with 503 because the in-flight limit was reached")
+                    .tag("workload", workload.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled()) {
+            return true;
+        }
+        String path = request.getRequestURI();
+        return properties.getExcludedPaths().stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Workload workload = classify(request);
+        int current = inflight.incrementAndGet();
+        if (current > allowed(workload)) {
+            inflight.decrementAndGet();
+            shed(workload, request, response);
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limit.onSample(System.nanoTime() - start, current);
+            inflight.decrementAndGet();
+        }
+    }
+
+    /**
+     * In-flight requests at which this class is shed; never below one, so no class is locked out entirely
+     */
+    private int allowed(Workload workload) {
+        LoadSheddingProperties.Route route = properties.getRoutes().get(workload);
+        double share = route != null ? route.getShare() : 1.0;
+        return Math.max(1, (int) (limit.getLimit() * share));
+    }
+
+    /**
+     * The workload of the first route matching the request, in workload order
+     */
+    private Workload classify(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        for (RoutePattern route : routes) {
+            if ((route.method == null || route.method.equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(route.path, path)) {
+                return route.workload;
+            }
+        }
+        return properties.getDefaultWorkload();
+    }
+
+    private void shed(Workload workload, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        rejected.get(workload).increment();
+        log.warn("Shedding {} request {} {}: limit {} reached", workload, request.getMethod(),
+                request.getRequestURI(), limit.getLimit());
+
+        ErrorResponse errorResponse = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .error(HttpStatus.SERVICE_UNAVAILABLE.getReasonPhrase())
+                .message("Service is overloaded, please retry")
+                .path(request.getRequestURI())
+                .build();
+
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER,
+                String.valueOf(Math.max(1, properties.getRetryAfter().toSeconds())));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), errorResponse);
+    }
+
+    private record RoutePattern(String method, String path, Workload workload) {
+
+        private static RoutePattern parse(String pattern, Workload workload) {
+            String[] parts = pattern.trim().split("\\s+", 2);
+            return parts.length == 2
+                    ? new RoutePattern(parts[0], parts[1], workload)
+                    : new RoutePattern(null, parts[0], workload);
+        }
+    }
+}
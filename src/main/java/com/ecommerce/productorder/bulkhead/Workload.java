@@ -0,0 +1,29 @@
+package com.ecommerce.productorder.bulkhead;
+
+/**
+ * Classes of work that get their own share of database connections, see {@link Bulkhead}, and their own share
+ * of the in-flight request limit, see {@link LoadSheddingFilter}
+ */
+public enum Workload {
+
+    /**
+     * Placing orders
+     */
+    CHECKOUT,
+
+    /**
+     * Customer reads: products and the customer's own orders
+     */
+    CATALOG,
+
+    /**
+     * Catalog maintenance, bulk user registration, account management and order reporting
+     */
+    ADMIN,
+
+    /**
+     * User lookups during login and single user registration, kept apart from admin work so that reports
+     * and bulk imports cannot block sign-ups
+     */
+    AUTH
+}
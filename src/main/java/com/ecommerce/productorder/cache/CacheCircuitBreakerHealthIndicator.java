@@ -0,0 +1,27 @@
+package com.ecommerce.productorder.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Reports the remote cache circuit breaker in the health endpoint.
+ * An open breaker degrades caching but not the service, so the status stays UP.
+ */
+@RequiredArgsConstructor
+public class CacheCircuitBreakerHealthIndicator implements HealthIndicator {
+
+    private final CircuitBreaker circuitBreaker;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = Health.up()
+                .withDetail("state", circuitBreaker.getState())
+                .withDetail("consecutiveFailures", circuitBreaker.getConsecutiveFailures())
+                .withDetail("fallbacks", circuitBreaker.getFallbackCount());
+        if (circuitBreaker.getOpenedAt() != null) {
+            builder.withDetail("openedAt", circuitBreaker.getOpenedAt().toString());
+        }
+        return builder.build();
+    }
+}
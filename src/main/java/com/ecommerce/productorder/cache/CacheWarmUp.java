@@ -0,0 +1,223 @@
+package com.ecommerce.productorder.cache;
+
+import com.ecommerce.productorder.config.CacheWarmUpProperties;
+import com.ecommerce.productorder.exception.ResourceNotFoundException;
+import com.ecommerce.productorder.model.dto.response.PagedResponse;
+import com.ecommerce.productorder.model.dto.response.ProductResponse;
+import com.ecommerce.productorder.repository.OrderItemRepository;
+import com.ecommerce.productorder.service.ProductService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Preloads the most ordered products into the product caches after startup and runs the
+ * hot read paths a few hundred times so they are JIT-compiled before real traffic arrives.
+ * Readiness is held back by {@link CacheWarmUpHealthIndicator} until this has finished.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CacheWarmUp {
+
+    public enum Phase {
+        DISABLED,
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private static final Pageable CATALOG_FIRST_PAGE = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    private final CacheWarmUpProperties properties;
+    private final ProductService productService;
+    private final PreparedProductResponses preparedProductResponses;
+    private final OrderItemRepository orderItemRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger productsLoaded = new AtomicInteger();
+    private final AtomicInteger productsSkipped = new AtomicInteger();
+    private final AtomicInteger jitIterationsCompleted = new AtomicInteger();
+
+    private volatile Phase phase;
+    private volatile int productsTotal;
+    private volatile long startedAtNanos;
+    private volatile long durationMs;
+    private volatile String failure;
+
+    @PostConstruct
+    void init() {
+        phase = properties.isEnabled() ? Phase.PENDING : Phase.DISABLED;
+        Gauge.builder("cache.warmup.progress", this, CacheWarmUp::getProgress)
+                .description("Fraction of the startup cache warm-up that has completed")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (phase != Phase.PENDING) {
+            return;
+        }
+        Thread worker = new Thread(this::run, "cache-warm-up");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    void run() {
+        phase = Phase.RUNNING;
+        startedAtNanos = System.nanoTime();
+        log.info("Cache warm-up started: {}", properties);
+
+        try {
+            List<Long> candidates = findProductsToPreload();
+            productsTotal = candidates.size();
+            List<Long> productIds = new ArrayList<>();
+            for (Long productId : candidates) {
+                if (preload(productId)) {
+                    productIds.add(productId);
+                }
+            }
+
+            if (!productIds.isEmpty()) {
+                for (int i = 0; i < properties.getJitIterations(); i++) {
+                    exerciseHotPaths(productIds.get(i % productIds.size()), i);
+                    jitIterationsCompleted.incrementAndGet();
+                }
+            }
+
+            phase = Phase.COMPLETED;
+        } catch (Exception e) {
+            failure = e.toString();
+            phase = Phase.FAILED;
+            log.error("Cache warm-up failed, continuing with a cold cache", e);
+        } finally {
+            long elapsed = System.nanoTime() - startedAtNanos;
+            durationMs = Duration.ofNanos(elapsed).toMillis();
+            Timer.builder("cache.warmup.duration")
+                    .description("Time taken by the startup cache warm-up")
+                    .tag("outcome", phase.name())
+                    .register(meterRegistry)
+                    .record(Duration.ofNanos(elapsed));
+            log.info("Cache warm-up finished with phase {} in {} ms: {} products loaded, {} skipped, {} JIT iterations",
+                    phase, durationMs, productsLoaded.get(), productsSkipped.get(), jitIterationsCompleted.get());
+        }
+    }
+
+    /**
+     * Products with the highest ordered quantity in the lookback window, topped up with the
+     * newest catalog entries when there is not enough order history
+     */
+    private List<Long> findProductsToPreload() {
+        int limit = properties.getTopProducts();
+        if (limit <= 0) {
+            return List.of();
+        }
+
+        LocalDateTime since = LocalDateTime.now().minus(properties.getOrderLookback());
+        Set<Long> productIds = new LinkedHashSet<>(
+                orderItemRepository.findTopOrderedProductIds(since, PageRequest.of(0, limit)));
+        if (productIds.size() < limit) {
+            productService.getAllProducts(PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "createdAt")))
+                    .forEach(product -> {
+                        if (productIds.size() < limit) {
+                            productIds.add(product.getId());
+                        }
+                    });
+        }
+        return new ArrayList<>(productIds);
+    }
+
+    /**
+     * Loads one product into the caches. A product deleted since it was picked is skipped rather
+     * than failing the whole warm-up.
+     */
+    private boolean preload(Long productId) {
+        try {
+            productService.getProductById(productId);
+            preparedProductResponses.getProductById(productId);
+            productsLoaded.incrementAndGet();
+            return true;
+        } catch (ResourceNotFoundException e) {
+            productsSkipped.incrementAndGet();
+            log.debug("Skipping product {} in cache warm-up: {}", productId, e.getMessage());
+            return false;
+        }
+    }
+
+    private void exerciseHotPaths(Long productId, int iteration) throws Exception {
+        ProductResponse product = productService.getProductById(productId);
+        objectMapper.writeValueAsBytes(product);
+        preparedProductResponses.getProductById(productId);
+
+        if (iteration % 10 == 0) {
+            PagedResponse<ProductResponse> page = PagedResponse.from(productService.getAllProducts(CATALOG_FIRST_PAGE));
+            objectMapper.writeValueAsBytes(page);
+        }
+    }
+
+    public Phase getPhase() {
+        return phase;
+    }
+
+    public boolean isFinished() {
+        return phase == Phase.COMPLETED || phase == Phase.FAILED || phase == Phase.DISABLED;
+    }
+
+    public int getProductsLoaded() {
+        return productsLoaded.get();
+    }
+
+    public int getProductsSkipped() {
+        return productsSkipped.get();
+    }
+
+    public int getProductsTotal() {
+        return productsTotal;
+    }
+
+    public int getJitIterationsCompleted() {
+        return jitIterationsCompleted.get();
+    }
+
+    public long getDurationMs() {
+        if (phase == Phase.RUNNING) {
+            return Duration.ofNanos(System.nanoTime() - startedAtNanos).toMillis();
+        }
+        return durationMs;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    double getProgress() {
+        if (isFinished()) {
+            return 1.0;
+        }
+        int totalSteps = productsTotal + (productsTotal > 0 ? properties.getJitIterations() : 0);
+        if (totalSteps == 0) {
+            return 0.0;
+        }
+        return (double) (productsLoaded.get() + productsSkipped.get() + jitIterationsCompleted.get()) / totalSteps;
+    }
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.productorder.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * OUT_OF_SERVICE while the startup cache warm-up is running. Part of the readiness group,
+ * so instances receive traffic only once their caches are warm. A failed warm-up reports
+ * UP with the error so that it never blocks serving.
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheWarmUpHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmUp cacheWarmUp;
+
+    @Override
+    public Health health() {
+        Health.Builder builder = cacheWarmUp.isFinished() ? Health.up() : Health.outOfService();
+        builder.withDetail("phase", cacheWarmUp.getPhase())
+                .withDetail("productsLoaded", cacheWarmUp.getProductsLoaded())
+                .withDetail("productsSkipped", cacheWarmUp.getProductsSkipped())
+                .withDetail("productsTotal", cacheWarmUp.getProductsTotal())
+                .withDetail("jitIterationsCompleted", cacheWarmUp.getJitIterationsCompleted())
+                .withDetail("durationMs", cacheWarmUp.getDurationMs());
+        if (cacheWarmUp.getFailure() != null) {
+            builder.withDetail("error", cacheWarmUp.getFailure());
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,157 @@
+package com.ecommerce.productorder.cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Consecutive-failure circuit breaker guarding a remote cache backend.
+ * <p>
+ * CLOSED lets every call through. After {@code failureThreshold} consecutive failures it
+ * moves to OPEN and rejects calls for {@code openDuration}. It then lets a single trial call
+ * through (HALF_OPEN): success closes the breaker, failure opens it again.
+ * <p>
+ * Every cache call passes through here, so state is guarded by a {@link ReentrantLock}: unlike a
+ * contended monitor, it lets a waiting virtual thread unmount instead of pinning its carrier.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        HALF_OPEN,
+        OPEN
+    }
+
+    private final String name;
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private final LongAdder fallbacks = new LongAdder();
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openedAt;
+    private boolean trialInFlight;
+
+    public CircuitBreaker(String name, int failureThreshold, Duration openDuration) {
+        this(name, failureThreshold, openDuration, Clock.systemUTC());
+    }
+
+    CircuitBreaker(String name, int failureThreshold, Duration openDuration, Clock clock) {
+        this.name = name;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * @return true if the caller may call the backend; every permitted call must be
+     * followed by {@link #recordSuccess()} or {@link #recordFailure(Throwable)}
+     */
+    public boolean tryAcquirePermission() {
+        lock.lock();
+        try {
+            switch (state) {
+                case CLOSED:
+                    return true;
+                case OPEN:
+                    if (clock.instant().isBefore(openedAt.plus(openDuration))) {
+                        return false;
+                    }
+                    state = State.HALF_OPEN;
+                    log.info("Circuit breaker '{}' is half-open, allowing a trial call", name);
+                    trialInFlight = true;
+                    return true;
+                case HALF_OPEN:
+                default:
+                    if (trialInFlight) {
+                        return false;
+                    }
+                    trialInFlight = true;
+                    return true;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void recordSuccess() {
+        lock.lock();
+        try {
+            consecutiveFailures = 0;
+            trialInFlight = false;
+            if (state != State.CLOSED) {
+                log.info("Circuit breaker '{}' closed", name);
+                state = State.CLOSED;
+                openedAt = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void recordFailure(Throwable error) {
+        lock.lock();
+        try {
+            trialInFlight = false;
+            consecutiveFailures++;
+            if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+                log.warn("Circuit breaker '{}' opened after {} consecutive failure(s): {}",
+                        name, consecutiveFailures, error.toString());
+                state = State.OPEN;
+                openedAt = clock.instant();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Count a call that was answered without the backend
+     */
+    public void recordFallback() {
+        fallbacks.increment();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getConsecutiveFailures() {
+        lock.lock();
+        try {
+            return consecutiveFailures;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public Instant getOpenedAt() {
+        lock.lock();
+        try {
+            return openedAt;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getFallbackCount() {
+        return fallbacks.sum();
+    }
+}
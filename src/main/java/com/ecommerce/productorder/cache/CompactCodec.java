@@ -0,0 +1,23 @@
+package com.ecommerce.productorder.cache;
+
+/**
+ * Schema-aware binary codec for a single cache value type
+ *
+ * @param <T> The type of value handled by the codec
+ */
+public interface CompactCodec<T> {
+
+    /**
+     * Identifier written in front of every payload, unique per codec and never 0
+     */
+    int typeId();
+
+    /**
+     * The exact value class this codec encodes
+     */
+    Class<T> type();
+
+    void write(T value, CompactOutput out);
+
+    T read(CompactInput in);
+}
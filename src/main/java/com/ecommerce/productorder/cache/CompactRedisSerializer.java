@@ -0,0 +1,171 @@
+package com.ecommerce.productorder.cache;
+
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Redis value serializer that writes registered types with their {@link CompactCodec}
+ * and everything else with a fallback serializer.
+ * <p>
+ * Layout: {@code [magic][flags][typeId][payload]}. When the payload is larger than the
+ * compression threshold it is Deflate-compressed and prefixed with its raw length.
+ * Values that do not start with the magic byte (e.g. entries written before the cache
+ * was switched to this serializer) are handed to the fallback serializer as-is.
+ */
+public class CompactRedisSerializer implements RedisSerializer<Object> {
+
+    static final byte MAGIC = (byte) 0xC5;
+    static final int FLAG_DEFLATE = 0x01;
+    static final int FALLBACK_TYPE_ID = 0;
+
+    private static final int HEADER_SIZE = 3;
+
+    private final RedisSerializer<Object> fallback;
+    private final int compressionThreshold;
+    private final Map<Class<?>, CompactCodec<?>> codecsByType = new HashMap<>();
+    private final Map<Integer, CompactCodec<?>> codecsById = new HashMap<>();
+
+    public CompactRedisSerializer(RedisSerializer<Object> fallback, int compressionThreshold,
+                                  Collection<CompactCodec<?>> codecs) {
+        this.fallback = fallback;
+        this.compressionThreshold = compressionThreshold;
+        for (CompactCodec<?> codec : codecs) {
+            if (codec.typeId() <= FALLBACK_TYPE_ID || codec.typeId() > 0xFF) {
+                throw new IllegalArgumentException("Codec type id must be between 1 and 255: " + codec.typeId());
+            }
+            if (codecsById.putIfAbsent(codec.typeId(), codec) != null) {
+                throw new IllegalArgumentException("Duplicate codec type id: " + codec.typeId());
+            }
+            codecsByType.put(codec.type(), codec);
+        }
+    }
+
+    @Override
+    public byte[] serialize(Object value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+
+        CompactCodec<?> codec = codecsByType.get(value.getClass());
+        int typeId;
+        byte[] payload;
+        if (codec != null) {
+            typeId = codec.typeId();
+            payload = encode(codec, value);
+        } else {
+            typeId = FALLBACK_TYPE_ID;
+            payload = fallback.serialize(value);
+        }
+
+        boolean compress = compressionThreshold >= 0 && payload.length > compressionThreshold;
+        CompactOutput out = new CompactOutput(HEADER_SIZE + payload.length);
+        out.writeByte(MAGIC);
+        out.writeByte(compress ? FLAG_DEFLATE : 0);
+        out.writeByte(typeId);
+        if (compress) {
+            out.writeVarInt(payload.length);
+            deflate(payload, out);
+        } else {
+            out.writeRaw(payload, 0, payload.length);
+        }
+        return out.toByteArray();
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] != MAGIC) {
+            return fallback.deserialize(bytes);
+        }
+        if (bytes.length < HEADER_SIZE) {
+            throw new SerializationException("Truncated compact payload");
+        }
+
+        int flags = bytes[1] & 0xFF;
+        int typeId = bytes[2] & 0xFF;
+        byte[] payload;
+        int offset;
+        int length;
+        if ((flags & FLAG_DEFLATE) != 0) {
+            CompactInput header = new CompactInput(bytes, HEADER_SIZE, bytes.length - HEADER_SIZE);
+            int rawLength = header.readVarInt();
+            int headerLength = header.position();
+            payload = inflate(bytes, headerLength, bytes.length - headerLength, rawLength);
+            offset = 0;
+            length = payload.length;
+        } else {
+            payload = bytes;
+            offset = HEADER_SIZE;
+            length = bytes.length - HEADER_SIZE;
+        }
+
+        if (typeId == FALLBACK_TYPE_ID) {
+            byte[] json = offset == 0 && length == payload.length
+                    ? payload
+                    : Arrays.copyOfRange(payload, offset, offset + length);
+            return fallback.deserialize(json);
+        }
+
+        CompactCodec<?> codec = codecsById.get(typeId);
+        if (codec == null) {
+            throw new SerializationException("No compact codec registered for type id " + typeId);
+        }
+        return codec.read(new CompactInput(payload, offset, length));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> byte[] encode(CompactCodec<T> codec, Object value) {
+        CompactOutput out = new CompactOutput(128);
+        codec.write((T) value, out);
+        return out.toByteArray();
+    }
+
+    private static void deflate(byte[] payload, CompactOutput out) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(payload);
+            deflater.finish();
+            byte[] chunk = new byte[Math.min(payload.length, 8192)];
+            while (!deflater.finished()) {
+                int written = deflater.deflate(chunk);
+                out.writeRaw(chunk, 0, written);
+            }
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] bytes, int offset, int length, int rawLength) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, offset, length);
+            byte[] result = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int n = inflater.inflate(result, read, rawLength - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != rawLength) {
+                throw new SerializationException("Compressed payload is shorter than its declared length");
+            }
+            return result;
+        } catch (DataFormatException e) {
+            throw new SerializationException("Corrupt compressed payload", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
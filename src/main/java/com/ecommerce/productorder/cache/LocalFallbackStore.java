@@ -0,0 +1,78 @@
+package com.ecommerce.productorder.cache;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Small bounded LRU store with a per-entry time-to-live, used to answer cache reads
+ * while the remote cache is unavailable
+ */
+class LocalFallbackStore {
+
+    private final long ttlNanos;
+    private final Map<Object, Entry> entries;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    LocalFallbackStore(int maxEntries, Duration ttl) {
+        this.ttlNanos = ttl.toNanos();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    Object get(Object key) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (System.nanoTime() - entry.storedAt > ttlNanos) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void put(Object key, Object value) {
+        lock.lock();
+        try {
+            if (value == null) {
+                entries.remove(key);
+            } else {
+                entries.put(key, new Entry(value, System.nanoTime()));
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void evict(Object key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void clear() {
+        lock.lock();
+        try {
+            entries.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private record Entry(Object value, long storedAt) {
+    }
+}
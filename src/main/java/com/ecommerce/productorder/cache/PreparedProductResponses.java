@@ -0,0 +1,73 @@
+package com.ecommerce.productorder.cache;
+
+import com.ecommerce.productorder.config.PreparedResponseProperties;
+import com.ecommerce.productorder.model.dto.response.ProductResponse;
+import com.ecommerce.productorder.service.ProductService;
+import com.ecommerce.productorder.util.EntityTags;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Product responses serialized with the MVC {@link ObjectMapper} and cached as bytes,
+ * so a cache hit is written to the client without going through Jackson again.
+ * The ETag is version-based (id and updatedAt) and falls back to a content hash.
+ * Evicted together with the products cache by the product service.
+ */
+@Component
+@RequiredArgsConstructor
+public class PreparedProductResponses {
+
+    public static final String CACHE_NAME = "productBytes";
+
+    private final ProductService productService;
+    private final ObjectMapper objectMapper;
+    private final PreparedResponseProperties properties;
+
+    @Cacheable(value = CACHE_NAME, key = "#id", condition = "@preparedResponseProperties.enabled")
+    public PreparedResponse getProductById(Long id) {
+        ProductResponse product = productService.getProductById(id);
+        PreparedResponse response = prepare(product);
+        if (product.getUpdatedAt() != null) {
+            response.setEtag(EntityTags.etag(product.getId(), product.getUpdatedAt()));
+            response.setLastModified(EntityTags.lastModified(product.getUpdatedAt()));
+        }
+        return response;
+    }
+
+    PreparedResponse prepare(Object value) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize response", e);
+        }
+
+        byte[] gzipBody = null;
+        if (properties.isGzip() && body.length >= properties.getGzipMinSize()) {
+            byte[] compressed = gzip(body);
+            if (compressed.length < body.length) {
+                gzipBody = compressed;
+            }
+        }
+        return new PreparedResponse(body, gzipBody, "\"" + DigestUtils.md5DigestAsHex(body) + "\"", null);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return buffer.toByteArray();
+    }
+}
@@ -0,0 +1,70 @@
+package com.ecommerce.productorder.cache;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Response body encoded once and cached as bytes, optionally with a gzip-precompressed copy
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PreparedResponse {
+
+    /**
+     * UTF-8 JSON body
+     */
+    private byte[] body;
+
+    /**
+     * Gzip-compressed body, or null when compression was skipped or did not pay off
+     */
+    private byte[] gzipBody;
+
+    /**
+     * Strong entity tag, quoted
+     */
+    private String etag;
+
+    /**
+     * Last-Modified timestamp in epoch milliseconds, or null when unknown
+     */
+    private Long lastModified;
+
+    /**
+     * Entity tag of the gzip representation, which must differ from the identity one
+     */
+    @JsonIgnore
+    public String getGzipEtag() {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    /**
+     * Whether an {@code Accept-Encoding} header value allows gzip
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (!name.equalsIgnoreCase("gzip") && !name.equals("*")) {
+                continue;
+            }
+            boolean rejected = false;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().replace(" ", "");
+                if (parameter.matches("(?i)q=0(\\.0{0,3})?")) {
+                    rejected = true;
+                }
+            }
+            if (!rejected) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
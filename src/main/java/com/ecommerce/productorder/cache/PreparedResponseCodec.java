@@ -0,0 +1,76 @@
+package com.ecommerce.productorder.cache;
+
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Compact codec for {@link PreparedResponse}. The body bytes are stored as-is.
+ */
+public class PreparedResponseCodec implements CompactCodec<PreparedResponse> {
+
+    public static final int TYPE_ID = 2;
+
+    private static final int SCHEMA_VERSION = 1;
+
+    private static final int BODY = 1;
+    private static final int GZIP_BODY = 1 << 1;
+    private static final int ETAG = 1 << 2;
+    private static final int LAST_MODIFIED = 1 << 3;
+
+    @Override
+    public int typeId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public Class<PreparedResponse> type() {
+        return PreparedResponse.class;
+    }
+
+    @Override
+    public void write(PreparedResponse value, CompactOutput out) {
+        int mask = 0;
+        mask |= value.getBody() != null ? BODY : 0;
+        mask |= value.getGzipBody() != null ? GZIP_BODY : 0;
+        mask |= value.getEtag() != null ? ETAG : 0;
+        mask |= value.getLastModified() != null ? LAST_MODIFIED : 0;
+
+        out.writeByte(SCHEMA_VERSION);
+        out.writeVarInt(mask);
+        if ((mask & BODY) != 0) {
+            out.writeBytes(value.getBody());
+        }
+        if ((mask & GZIP_BODY) != 0) {
+            out.writeBytes(value.getGzipBody());
+        }
+        if ((mask & ETAG) != 0) {
+            out.writeString(value.getEtag());
+        }
+        if ((mask & LAST_MODIFIED) != 0) {
+            out.writeSignedVarLong(value.getLastModified());
+        }
+    }
+
+    @Override
+    public PreparedResponse read(CompactInput in) {
+        int version = in.readByte();
+        if (version != SCHEMA_VERSION) {
+            throw new SerializationException("Unsupported PreparedResponse schema version: " + version);
+        }
+
+        int mask = in.readVarInt();
+        PreparedResponse response = new PreparedResponse();
+        if ((mask & BODY) != 0) {
+            response.setBody(in.readBytes());
+        }
+        if ((mask & GZIP_BODY) != 0) {
+            response.setGzipBody(in.readBytes());
+        }
+        if ((mask & ETAG) != 0) {
+            response.setEtag(in.readString());
+        }
+        if ((mask & LAST_MODIFIED) != 0) {
+            response.setLastModified(in.readSignedVarLong());
+        }
+        return response;
+    }
+}
@@ -0,0 +1,109 @@
+package com.ecommerce.productorder.cache;
+
+import com.ecommerce.productorder.model.dto.response.ProductResponse;
+import org.springframework.data.redis.serializer.SerializationException;
+
+/**
+ * Compact codec for {@link ProductResponse}.
+ * A presence bitmask is followed by the non-null fields in declaration order.
+ */
+public class ProductResponseCodec implements CompactCodec<ProductResponse> {
+
+    public static final int TYPE_ID = 1;
+
+    private static final int SCHEMA_VERSION = 1;
+
+    private static final int ID = 1;
+    private static final int NAME = 1 << 1;
+    private static final int DESCRIPTION = 1 << 2;
+    private static final int PRICE = 1 << 3;
+    private static final int QUANTITY = 1 << 4;
+    private static final int AVAILABLE = 1 << 5;
+    private static final int CREATED_AT = 1 << 6;
+    private static final int UPDATED_AT = 1 << 7;
+    private static final int AVAILABLE_VALUE = 1 << 8;
+
+    @Override
+    public int typeId() {
+        return TYPE_ID;
+    }
+
+    @Override
+    public Class<ProductResponse> type() {
+        return ProductResponse.class;
+    }
+
+    @Override
+    public void write(ProductResponse value, CompactOutput out) {
+        int mask = 0;
+        mask |= value.getId() != null ? ID : 0;
+        mask |= value.getName() != null ? NAME : 0;
+        mask |= value.getDescription() != null ? DESCRIPTION : 0;
+        mask |= value.getPrice() != null ? PRICE : 0;
+        mask |= value.getQuantity() != null ? QUANTITY : 0;
+        mask |= value.getAvailable() != null ? AVAILABLE : 0;
+        mask |= Boolean.TRUE.equals(value.getAvailable()) ? AVAILABLE_VALUE : 0;
+        mask |= value.getCreatedAt() != null ? CREATED_AT : 0;
+        mask |= value.getUpdatedAt() != null ? UPDATED_AT : 0;
+
+        out.writeByte(SCHEMA_VERSION);
+        out.writeVarInt(mask);
+        if ((mask & ID) != 0) {
+            out.writeSignedVarLong(value.getId());
+        }
+        if ((mask & NAME) != 0) {
+            out.writeString(value.getName());
+        }
+        if ((mask & DESCRIPTION) != 0) {
+            out.writeString(value.getDescription());
+        }
+        if ((mask & PRICE) != 0) {
+            out.writeBigDecimal(value.getPrice());
+        }
+        if ((mask & QUANTITY) != 0) {
+            out.writeSignedVarLong(value.getQuantity());
+        }
+        if ((mask & CREATED_AT) != 0) {
+            out.writeLocalDateTime(value.getCreatedAt());
+        }
+        if ((mask & UPDATED_AT) != 0) {
+            out.writeLocalDateTime(value.getUpdatedAt());
+        }
+    }
+
+    @Override
+    public ProductResponse read(CompactInput in) {
+        int version = in.readByte();
+        if (version != SCHEMA_VERSION) {
+            throw new SerializationException("Unsupported ProductResponse schema version: " + version);
+        }
+
+        int mask = in.readVarInt();
+        ProductResponse.ProductResponseBuilder builder = ProductResponse.builder();
+        if ((mask & ID) != 0) {
+            builder.id(in.readSignedVarLong());
+        }
+        if ((mask & NAME) != 0) {
+            builder.name(in.readString());
+        }
+        if ((mask & DESCRIPTION) != 0) {
+            builder.description(in.readString());
+        }
+        if ((mask & PRICE) != 0) {
+            builder.price(in.readBigDecimal());
+        }
+        if ((mask & QUANTITY) != 0) {
+            builder.quantity((int) in.readSignedVarLong());
+        }
+        if ((mask & AVAILABLE) != 0) {
+            builder.available((mask & AVAILABLE_VALUE) != 0);
+        }
+        if ((mask & CREATED_AT) != 0) {
+            builder.createdAt(in.readLocalDateTime());
+        }
+        if ((mask & UPDATED_AT) != 0) {
+            builder.updatedAt(in.readLocalDateTime());
+        }
+        return builder.build();
+    }
+}
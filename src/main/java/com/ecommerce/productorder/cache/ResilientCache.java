@@ -0,0 +1,200 @@
+package com.ecommerce.productorder.cache;
+
+import com.ecommerce.productorder.profiling.CacheLookupEvent;
+import io.micrometer.core.instrument.Counter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Cache decorator that stops calling a remote cache while its {@link CircuitBreaker} is open.
+ * <p>
+ * Reads are answered from a bounded local store (or miss, so the caller goes to the database).
+ * Writes always update the local store. Evictions that could not reach the remote cache mark
+ * it as stale, and the whole remote cache is cleared on the first successful call after recovery.
+ * An entry that cannot be decoded, such as one written by a release with another codec version,
+ * is a miss and is evicted; it does not count as a remote cache failure.
+ */
+@Slf4j
+public class ResilientCache implements Cache {
+
+    private final Cache delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final LocalFallbackStore fallbackStore;
+    private final Counter fallbackCounter;
+    private final AtomicBoolean clearPending = new AtomicBoolean();
+
+    ResilientCache(Cache delegate, CircuitBreaker circuitBreaker, LocalFallbackStore fallbackStore,
+                   Counter fallbackCounter) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.fallbackStore = fallbackStore;
+        this.fallbackCounter = fallbackCounter;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        CacheLookupEvent event = new CacheLookupEvent();
+        event.begin();
+        if (circuitBreaker.tryAcquirePermission()) {
+            try {
+                reconcile();
+                ValueWrapper value = delegate.get(key);
+                circuitBreaker.recordSuccess();
+                if (value != null) {
+                    fallbackStore.put(key, value.get());
+                }
+                return commit(event, value, false);
+            } catch (SerializationException e) {
+                circuitBreaker.recordSuccess();
+                discard(key, e);
+                return commit(event, null, false);
+            } catch (RuntimeException e) {
+                onFailure("get", e);
+            }
+        }
+        return commit(event, fallbackGet(key), true);
+    }
+
+    /**
+     * Records the lookup when a flight recording is running and it took longer than the event threshold
+     */
+    private ValueWrapper commit(CacheLookupEvent event, ValueWrapper value, boolean fallback) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.cache = getName();
+            event.hit = value != null;
+            event.fallback = fallback;
+            event.commit();
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper wrapper = get(key);
+        if (wrapper != null) {
+            return (T) wrapper.get();
+        }
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        fallbackStore.put(key, value);
+        if (circuitBreaker.tryAcquirePermission()) {
+            try {
+                reconcile();
+                delegate.put(key, value);
+                circuitBreaker.recordSuccess();
+            } catch (RuntimeException e) {
+                onFailure("put", e);
+            }
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        fallbackStore.evict(key);
+        if (circuitBreaker.tryAcquirePermission()) {
+            try {
+                reconcile();
+                delegate.evict(key);
+                circuitBreaker.recordSuccess();
+                return;
+            } catch (RuntimeException e) {
+                onFailure("evict", e);
+            }
+        }
+        clearPending.set(true);
+    }
+
+    @Override
+    public void clear() {
+        fallbackStore.clear();
+        if (circuitBreaker.tryAcquirePermission()) {
+            try {
+                delegate.clear();
+                clearPending.set(false);
+                circuitBreaker.recordSuccess();
+                return;
+            } catch (RuntimeException e) {
+                onFailure("clear", e);
+            }
+        }
+        clearPending.set(true);
+    }
+
+    private void reconcile() {
+        if (clearPending.compareAndSet(true, false)) {
+            try {
+                log.info("Clearing remote cache '{}' after missed evictions", getName());
+                delegate.clear();
+            } catch (RuntimeException e) {
+                clearPending.set(true);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Evicts an entry the remote cache returned but that could not be decoded, so the caller's reload replaces it
+     */
+    private void discard(Object key, SerializationException e) {
+        log.debug("Discarding unreadable entry {} of remote cache '{}': {}", key, getName(), e.toString());
+        fallbackStore.evict(key);
+        try {
+            delegate.evict(key);
+        } catch (RuntimeException evictFailure) {
+            onFailure("evict", evictFailure);
+            clearPending.set(true);
+        }
+    }
+
+    private ValueWrapper fallbackGet(Object key) {
+        circuitBreaker.recordFallback();
+        fallbackCounter.increment();
+        Object value = fallbackStore.get(key);
+        return value != null ? new SimpleValueWrapper(value) : null;
+    }
+
+    private void onFailure(String operation, RuntimeException e) {
+        circuitBreaker.recordFailure(e);
+        log.debug("Remote cache '{}' {} failed: {}", getName(), operation, e.toString());
+    }
+}
@@ -0,0 +1,61 @@
+package com.ecommerce.productorder.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Wraps every cache of a remote {@link CacheManager} in a {@link ResilientCache}.
+ * All caches share one circuit breaker because they share one backend.
+ */
+public class ResilientCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final MeterRegistry meterRegistry;
+    private final int fallbackMaxEntries;
+    private final Duration fallbackTtl;
+    private final ConcurrentMap<String, Cache> caches = new ConcurrentHashMap<>();
+
+    public ResilientCacheManager(CacheManager delegate, CircuitBreaker circuitBreaker, MeterRegistry meterRegistry,
+                                 int fallbackMaxEntries, Duration fallbackTtl) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.meterRegistry = meterRegistry;
+        this.fallbackMaxEntries = fallbackMaxEntries;
+        this.fallbackTtl = fallbackTtl;
+
+        Gauge.builder("cache.circuit.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .description("Remote cache circuit breaker state: 0 closed, 1 half-open, 2 open")
+                .tag("name", circuitBreaker.getName())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, cacheName -> {
+            Cache cache = delegate.getCache(cacheName);
+            if (cache == null) {
+                return null;
+            }
+            Counter fallbackCounter = Counter.builder("cache.fallbacks")
+                    .description("Cache reads answered without the remote cache")
+                    .tag("cache", cacheName)
+                    .register(meterRegistry);
+            return new ResilientCache(cache, circuitBreaker,
+                    new LocalFallbackStore(fallbackMaxEntries, fallbackTtl), fallbackCounter);
+        });
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
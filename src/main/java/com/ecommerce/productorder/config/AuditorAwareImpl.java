@@ -1,29 +1,20 @@
 package com.ecommerce.productorder.config;
 
 import com.ecommerce.productorder.model.entity.User;
+import com.ecommerce.productorder.util.LoggedInUser;
 import org.springframework.data.domain.AuditorAware;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
 
+/**
+ * Audits with the authenticated user's id, taken from the token claims without loading the user
+ */
 @Component
-public class AuditorAwareImpl implements AuditorAware<User> {
+public class AuditorAwareImpl implements AuditorAware<Long> {
 
     @Override
-    public Optional<User> getCurrentAuditor() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-
-        if (authentication == null || !authentication.isAuthenticated() ||
-            authentication.getPrincipal().equals("anonymousUser")) {
-            return Optional.empty();
-        }
-
-        if (authentication.getPrincipal() instanceof User) {
-            return Optional.of((User) authentication.getPrincipal());
-        }
-
-        return Optional.empty();
+    public Optional<Long> getCurrentAuditor() {
+        return LoggedInUser.find().map(User::getId);
     }
 }
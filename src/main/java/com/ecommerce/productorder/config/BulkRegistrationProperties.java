@@ -0,0 +1,24 @@
+package com.ecommerce.productorder.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for bulk user registration
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "users.bulk-registration")
+public class BulkRegistrationProperties {
+
+    /**
+     * Threads hashing passwords concurrently; further hashing runs on the calling thread
+     */
+    private int hashingThreads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+    /**
+     * Rows per JDBC insert batch
+     */
+    private int insertBatchSize = 500;
+}
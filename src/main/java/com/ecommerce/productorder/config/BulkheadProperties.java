@@ -0,0 +1,48 @@
+package com.ecommerce.productorder.config;
+
+import com.ecommerce.productorder.bulkhead.Workload;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the per-workload bulkheads
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "bulkheads")
+public class BulkheadProperties {
+
+    /**
+     * Enforce the limits; when off, annotated methods run unrestricted. Read at startup
+     */
+    private boolean enabled = true;
+
+    /**
+     * Limits per workload; workloads without an entry are not limited. Keep the sum of max-concurrent below
+     * spring.datasource.hikari.maximum-pool-size, leaving connections for database work outside the bulkheads
+     */
+    private Map<Workload, Limit> workloads = new EnumMap<>(Workload.class);
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limit {
+
+        /**
+         * Calls running at once
+         */
+        private int maxConcurrent = 10;
+
+        /**
+         * How long a call waits for a permit before failing with 503
+         */
+        private Duration maxWait = Duration.ofMillis(100);
+    }
+}
@@ -1,6 +1,17 @@
 package com.ecommerce.productorder.config;
 
+import com.ecommerce.productorder.bulkhead.BulkheadAspect;
+import com.ecommerce.productorder.cache.CacheCircuitBreakerHealthIndicator;
+import com.ecommerce.productorder.cache.CircuitBreaker;
+import com.ecommerce.productorder.cache.CompactRedisSerializer;
+import com.ecommerce.productorder.cache.PreparedResponseCodec;
+import com.ecommerce.productorder.cache.ProductResponseCodec;
+import com.ecommerce.productorder.cache.ResilientCacheManager;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
@@ -13,32 +24,67 @@ import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
-import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 @Configuration
-@EnableCaching
+@EnableCaching(order = BulkheadAspect.ORDER - 1)
 @Slf4j
 public class CacheConfig {
 
     @Bean
     @ConditionalOnProperty(name = "spring.cache.type", havingValue = "redis")
-    public CacheManager redisCacheManager(RedisConnectionFactory connectionFactory) {
+    public CacheManager redisCacheManager(RedisConnectionFactory connectionFactory, RedisCacheProperties properties,
+                                          ObjectProvider<CircuitBreaker> redisCacheCircuitBreaker,
+                                          MeterRegistry meterRegistry) {
         log.info("Using Redis Cache Manager");
-        RedisCacheConfiguration cacheConfiguration = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofMinutes(10))
+        RedisSerializer<Object> jsonSerializer = new GenericJackson2JsonRedisSerializer()
+                .configure(mapper -> mapper.registerModule(new JavaTimeModule()));
+        RedisSerializer<Object> compactSerializer = new CompactRedisSerializer(
+                jsonSerializer, properties.getCompressionThreshold(), List.of(new ProductResponseCodec(), new PreparedResponseCodec()));
+
+        Function<RedisCacheProperties.ValueSerializer, RedisCacheConfiguration> configurationFor = serializer ->
+                cacheConfiguration(properties, serializer == RedisCacheProperties.ValueSerializer.COMPACT
+                        ? compactSerializer : jsonSerializer);
+
+        Map<String, RedisCacheConfiguration> cacheConfigurations = new HashMap<>();
+        properties.getSerializers().forEach((cacheName, serializer) ->
+                cacheConfigurations.put(cacheName, configurationFor.apply(serializer)));
+        log.info("Redis cache value serializers - default: {}, per cache: {}",
+                properties.getDefaultSerializer(), properties.getSerializers());
+
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(configurationFor.apply(properties.getDefaultSerializer()))
+                .withInitialCacheConfigurations(cacheConfigurations)
+                .build();
+
+        CircuitBreaker circuitBreaker = redisCacheCircuitBreaker.getIfAvailable();
+        if (circuitBreaker == null) {
+            return redisCacheManager;
+        }
+
+        log.info("Redis cache protected by circuit breaker: {}", properties.getResilience());
+        redisCacheManager.afterPropertiesSet();
+        return new ResilientCacheManager(redisCacheManager, circuitBreaker, meterRegistry,
+                properties.getResilience().getFallbackMaxEntries(), properties.getResilience().getFallbackTtl());
+    }
+
+    private static RedisCacheConfiguration cacheConfiguration(RedisCacheProperties properties,
+                                                              RedisSerializer<Object> valueSerializer) {
+        return RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(properties.getTtl())
                 .disableCachingNullValues()
                 .serializeKeysWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer())
                 )
                 .serializeValuesWith(
-                        RedisSerializationContext.SerializationPair.fromSerializer(new GenericJackson2JsonRedisSerializer())
+                        RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer)
                 );
-
-        return RedisCacheManager.builder(connectionFactory)
-                .cacheDefaults(cacheConfiguration)
-                .build();
     }
 
     @Bean
@@ -48,4 +94,21 @@ public class CacheConfig {
         log.info("Using Simple In-Memory Cache Manager");
         return new ConcurrentMapCacheManager();
     }
+
+    @Configuration
+    @ConditionalOnExpression("'${spring.cache.type:simple}' == 'redis' and ${cache.redis.resilience.enabled:true}")
+    static class RedisResilienceConfig {
+
+        @Bean
+        public CircuitBreaker redisCacheCircuitBreaker(RedisCacheProperties properties) {
+            return new CircuitBreaker("redis-cache", properties.getResilience().getFailureThreshold(),
+                    properties.getResilience().getOpenDuration());
+        }
+
+        @Bean
+        public CacheCircuitBreakerHealthIndicator redisCacheCircuitBreakerHealthIndicator(
+                CircuitBreaker redisCacheCircuitBreaker) {
+            return new CacheCircuitBreakerHealthIndicator(redisCacheCircuitBreaker);
+        }
+    }
 }
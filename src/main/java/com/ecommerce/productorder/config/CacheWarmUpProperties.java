@@ -0,0 +1,36 @@
+package com.ecommerce.productorder.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the startup cache warm-up
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cache.warm-up")
+public class CacheWarmUpProperties {
+
+    /**
+     * Run the warm-up after startup and keep readiness OUT_OF_SERVICE until it completes
+     */
+    private boolean enabled = true;
+
+    /**
+     * Number of products to preload into the products cache
+     */
+    private int topProducts = 100;
+
+    /**
+     * Order history window used to rank products by ordered quantity
+     */
+    private Duration orderLookback = Duration.ofDays(7);
+
+    /**
+     * Iterations over the hot read paths to get them JIT-compiled before traffic arrives
+     */
+    private int jitIterations = 200;
+}
@@ -0,0 +1,87 @@
+package com.ecommerce.productorder.config;
+
+import com.ecommerce.productorder.datasource.ReadWriteRoutingDataSource;
+import com.ecommerce.productorder.datasource.ReplicaLagGuard;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured data source with one that sends read-only transactions to the replicas.
+ * The spring.datasource settings (including spring.datasource.hikari) still describe the primary.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+@Slf4j
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReadWriteRoutingDataSource routingDataSource(DataSourceProperties dataSourceProperties,
+                                                        DataSourceRoutingProperties routingProperties,
+                                                        Environment environment, MeterRegistry meterRegistry) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (!StringUtils.hasText(primary.getPoolName())) {
+            primary.setPoolName("primary");
+        }
+        primary.setMetricRegistry(meterRegistry);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<DataSourceRoutingProperties.Replica> replicaProperties = routingProperties.getReplicas();
+        for (int i = 0; i < replicaProperties.size(); i++) {
+            String name = "replica-" + (i + 1);
+            replicas.put(name, createReplica(name, replicaProperties.get(i), environment, meterRegistry));
+        }
+        log.info("Routing read-only transactions to {} replica(s), read-your-writes window {}", replicas.size(),
+                routingProperties.getReadYourWritesWindow());
+
+        ReplicaLagGuard lagGuard = new ReplicaLagGuard(routingProperties.getReadYourWritesWindow(),
+                routingProperties.getMaxTrackedWriters());
+        return new ReadWriteRoutingDataSource(primary, replicas, lagGuard, meterRegistry);
+    }
+
+    /**
+     * The data source used by JPA, JDBC and Flyway. Connections are only fetched on the first statement,
+     * once the transaction's read-only flag is known.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    private static HikariDataSource createReplica(String name, DataSourceRoutingProperties.Replica properties,
+                                                  Environment environment, MeterRegistry meterRegistry) {
+        HikariDataSource replica = new HikariDataSource();
+        replica.setPoolName(name);
+        replica.setJdbcUrl(properties.getUrl());
+        replica.setUsername(properties.getUsername());
+        replica.setPassword(properties.getPassword());
+        replica.setMaximumPoolSize(properties.getMaximumPoolSize());
+        replica.setMetricRegistry(meterRegistry);
+
+        if (properties.isInitialize()) {
+            String[] locations = environment.getProperty("spring.flyway.locations", String[].class,
+                    new String[]{"classpath:db/migration"});
+            log.info("Initializing {} from {}", name, String.join(",", locations));
+            Flyway.configure().dataSource(replica).locations(locations).load().migrate();
+        }
+        return replica;
+    }
+}
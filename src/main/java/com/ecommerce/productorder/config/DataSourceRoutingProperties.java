@@ -0,0 +1,61 @@
+package com.ecommerce.productorder.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration properties for routing read-only transactions to read replicas
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "datasource.routing")
+public class DataSourceRoutingProperties {
+
+    /**
+     * Send read-only transactions to the replicas; when off, the spring.datasource primary serves everything.
+     * Read at startup
+     */
+    private boolean enabled = false;
+
+    /**
+     * Read replicas, used in turn
+     */
+    private List<Replica> replicas = new ArrayList<>();
+
+    /**
+     * After a user's write, that user's read-only transactions stay on the primary this long.
+     * Should exceed the usual replication lag
+     */
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    /**
+     * Users whose last write is remembered; beyond this, the least recent writers are forgotten
+     */
+    private int maxTrackedWriters = 10000;
+
+    @Data
+    public static class Replica {
+
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * Connections in this replica's pool
+         */
+        private int maximumPoolSize = 10;
+
+        /**
+         * Run the Flyway migrations against this replica at startup. Only for local databases standing in for a
+         * replica; they receive no replication, so they keep the sample data and never see writes
+         */
+        private boolean initialize = false;
+    }
+}
@@ -0,0 +1,90 @@
+package com.ecommerce.productorder.config;
+
+import com.ecommerce.productorder.bulkhead.Workload;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties for the adaptive in-flight request limit
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "load-shedding")
+public class LoadSheddingProperties {
+
+    /**
+     * Shed requests above the limit; when off, every request is let through. Read at startup
+     */
+    private boolean enabled = true;
+
+    /**
+     * Requests allowed in flight before any latency has been observed
+     */
+    private int initialLimit = 50;
+
+    /**
+     * Lowest the limit may shrink to
+     */
+    private int minLimit = 10;
+
+    /**
+     * Highest the limit may grow to; keep it within server.tomcat.threads.max
+     */
+    private int maxLimit = 200;
+
+    /**
+     * How much slower than the long-term average requests may get before the limit shrinks
+     */
+    private double rttTolerance = 2.0;
+
+    /**
+     * Weight of each new estimate in the limit (0-1)
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * Requests averaged into the long-term latency
+     */
+    private int longWindow = 600;
+
+    /**
+     * Retry-After sent with shed requests
+     */
+    private Duration retryAfter = Duration.ofSeconds(1);
+
+    /**
+     * Paths never shed or counted, such as health checks
+     */
+    private List<String> excludedPaths = new ArrayList<>();
+
+    /**
+     * Class of requests that match no route
+     */
+    private Workload defaultWorkload = Workload.CATALOG;
+
+    /**
+     * Request classes; workloads without an entry may use the whole limit
+     */
+    private Map<Workload, Route> routes = new EnumMap<>(Workload.class);
+
+    @Data
+    public static class Route {
+
+        /**
+         * Fraction of the limit requests of this class may fill (0-1); lower shares are shed first
+         */
+        private double share = 1.0;
+
+        /**
+         * Ant-style path patterns, optionally preceded by an HTTP method, e.g. "POST /api/orders"
+         */
+        private List<String> paths = new ArrayList<>();
+    }
+}
@@ -3,9 +3,13 @@ package com.ecommerce.productorder.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Configuration properties for logging
@@ -20,4 +24,112 @@ public class LoggingProperties {
      * These fields will be replaced with "***REDACTED***"
      */
     private List<String> sensitiveFields = new ArrayList<>();
+
+    /**
+     * HTTP request/response logging done by LoggingFilter
+     */
+    private Http http = new Http();
+
+    /**
+     * Retention of slow and failed requests, independent of HTTP log sampling
+     */
+    private SlowRequests slowRequests = new SlowRequests();
+
+    /**
+     * SQL statement monitoring through the data source proxy
+     */
+    private Sql sql = new Sql();
+
+    public enum HttpLogMode {
+        /**
+         * No request/response logging; correlation IDs are still assigned
+         */
+        OFF,
+        /**
+         * Method, URL, headers, status and duration, without bodies
+         */
+        METADATA,
+        /**
+         * Metadata plus the captured request and response bodies
+         */
+        FULL
+    }
+
+    @Data
+    public static class Http {
+
+        private HttpLogMode mode = HttpLogMode.FULL;
+
+        /**
+         * Fraction of requests logged, between 0 and 1
+         */
+        private double sampleRate = 1.0;
+
+        /**
+         * Sample rates per path pattern (e.g. "[/api/orders/**]": 0.1), overriding sample-rate; first match wins
+         */
+        private Map<String, Double> routeSampleRates = new LinkedHashMap<>();
+
+        /**
+         * Bytes of each request and response body captured for logging; the rest is passed through uncaptured
+         */
+        private DataSize maxBodySize = DataSize.ofKilobytes(8);
+
+        /**
+         * Entries waiting for the background log writer; further entries are dropped and counted
+         */
+        private int queueCapacity = 1000;
+    }
+
+    @Data
+    public static class SlowRequests {
+
+        private boolean enabled = true;
+
+        /**
+         * Slow or failed requests kept in memory; the oldest entry is overwritten when full
+         */
+        private int capacity = 100;
+
+        /**
+         * Requests taking at least this long are retained with their sanitized bodies
+         */
+        private Duration threshold = Duration.ofSeconds(1);
+
+        /**
+         * Thresholds per path pattern (e.g. "[/api/orders/**]": 500ms), overriding threshold; first match wins
+         */
+        private Map<String, Duration> routeThresholds = new LinkedHashMap<>();
+
+        /**
+         * Also retain requests answered with a 5xx status, whatever their duration
+         */
+        private boolean captureErrors = true;
+
+        /**
+         * Capture the bodies of every request, since slowness is only known at the end, so that retained requests
+         * keep them. Otherwise only requests sampled for FULL logging have their bodies captured and the others are
+         * retained with metadata only
+         */
+        private boolean captureBodies = false;
+    }
+
+    @Data
+    public static class Sql {
+
+        /**
+         * Wrap the data source to count and time statements per request; read at startup
+         */
+        private boolean enabled = true;
+
+        /**
+         * Statements taking at least this long are logged with the types of their bind parameters
+         */
+        private Duration slowQueryThreshold = Duration.ofMillis(200);
+
+        /**
+         * Executions of the same statement within one request at which it is reported as a likely N+1 query
+         */
+        private int repeatedStatementThreshold = 5;
+    }
 }
@@ -0,0 +1,73 @@
+package com.ecommerce.productorder.config;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for login throttling and the password verification pool
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "login")
+public class LoginProtectionProperties {
+
+    /**
+     * Worker pool that runs password verification, bounding how many hashes are computed at once
+     */
+    private Executor executor = new Executor();
+
+    /**
+     * Token bucket per username (case-insensitive), charged before each attempt is verified and refunded when it succeeds
+     */
+    private Throttle username = new Throttle(5, Duration.ofSeconds(12));
+
+    /**
+     * Token bucket applied per client address
+     */
+    private Throttle clientAddress = new Throttle(20, Duration.ofSeconds(3));
+
+    /**
+     * Maximum usernames and client addresses tracked per throttle; least recently seen are dropped
+     */
+    private int maxTrackedKeys = 10000;
+
+    @Data
+    public static class Executor {
+
+        /**
+         * Threads verifying passwords concurrently
+         */
+        private int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        /**
+         * Logins waiting for a thread; further logins are rejected with 503
+         */
+        private int queueCapacity = 50;
+
+        /**
+         * Maximum time a request waits for its password verification
+         */
+        private Duration timeout = Duration.ofSeconds(5);
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Throttle {
+
+        /**
+         * Attempts allowed in a burst
+         */
+        private int capacity;
+
+        /**
+         * Time to regain one attempt
+         */
+        private Duration refillInterval;
+    }
+}
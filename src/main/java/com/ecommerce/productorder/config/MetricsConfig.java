@@ -0,0 +1,58 @@
+package com.ecommerce.productorder.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
+
+@Configuration
+public class MetricsConfig {
+
+    private static final String HTTP_SERVER_REQUESTS = "http.server.requests";
+
+    /**
+     * Records {@code @Timed} methods of Spring beans
+     */
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+
+    /**
+     * Adds the SLO latency thresholds to the buckets of {@code http.server.requests}, next to those configured
+     * under management.metrics.distribution.slo, so that requests over each threshold are counted exactly.
+     * Runs after the properties filter so both sets of buckets are kept.
+     */
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public MeterFilter sloBucketsMeterFilter(SloProperties sloProperties) {
+        double[] thresholds = Stream.concat(Stream.of(sloProperties.getDefaults()), sloProperties.getRoutes().values().stream())
+                .mapToDouble(objective -> objective.getLatencyThreshold().toNanos())
+                .distinct()
+                .toArray();
+
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!HTTP_SERVER_REQUESTS.equals(id.getName())) {
+                    return config;
+                }
+                double[] configured = config.getServiceLevelObjectiveBoundaries();
+                double[] boundaries = configured == null ? thresholds : DoubleStream.concat(
+                        DoubleStream.of(configured), DoubleStream.of(thresholds)).distinct().sorted().toArray();
+                return DistributionStatisticConfig.builder()
+                        .serviceLevelObjectives(boundaries)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+}
@@ -0,0 +1,29 @@
+package com.ecommerce.productorder.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Configuration properties for responses cached as pre-serialized bytes
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cache.prepared-responses")
+public class PreparedResponseProperties {
+
+    /**
+     * Cache the encoded product response bytes in the productBytes cache
+     */
+    private boolean enabled = true;
+
+    /**
+     * Also store a gzip-precompressed copy for clients that accept it
+     */
+    private boolean gzip = true;
+
+    /**
+     * Bodies smaller than this many bytes are not gzip-compressed
+     */
+    private int gzipMinSize = 256;
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.productorder.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Bounds for Java Flight Recorder sessions started through the jfr actuator endpoint
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "profiling.jfr")
+public class ProfilingProperties {
+
+    /**
+     * Recording length when the request does not specify one
+     */
+    private Duration defaultDuration = Duration.ofMinutes(1);
+
+    /**
+     * Longest recording that can be requested; longer requests are capped
+     */
+    private Duration maxDuration = Duration.ofMinutes(10);
+
+    /**
+     * Disk space kept per recording; older data is discarded once it is reached
+     */
+    private DataSize maxSize = DataSize.ofMegabytes(100);
+
+    /**
+     * Finished recordings kept for download; the oldest is discarded when another one starts
+     */
+    private int maxRetained = 3;
+}
@@ -0,0 +1,78 @@
+package com.ecommerce.productorder.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for the Redis cache manager
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cache.redis")
+public class RedisCacheProperties {
+
+    /**
+     * Time-to-live applied to every Redis cache entry
+     */
+    private Duration ttl = Duration.ofMinutes(10);
+
+    /**
+     * Value serializer used by caches that have no entry in {@link #serializers}
+     */
+    private ValueSerializer defaultSerializer = ValueSerializer.JSON;
+
+    /**
+     * Value serializer per cache name, e.g. {@code products: compact}
+     */
+    private Map<String, ValueSerializer> serializers = new HashMap<>();
+
+    /**
+     * Compact payloads larger than this many bytes are Deflate-compressed.
+     * A negative value disables compression.
+     */
+    private int compressionThreshold = 512;
+
+    /**
+     * Circuit breaker and local fallback around the Redis cache
+     */
+    private Resilience resilience = new Resilience();
+
+    @Data
+    public static class Resilience {
+
+        /**
+         * Wrap the Redis cache manager with a circuit breaker and local fallback store
+         */
+        private boolean enabled = true;
+
+        /**
+         * Consecutive Redis failures that open the circuit
+         */
+        private int failureThreshold = 5;
+
+        /**
+         * How long Redis is bypassed before a trial call is allowed
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /**
+         * Maximum entries per cache kept in the local fallback store
+         */
+        private int fallbackMaxEntries = 1000;
+
+        /**
+         * Time-to-live of entries in the local fallback store
+         */
+        private Duration fallbackTtl = Duration.ofMinutes(1);
+    }
+
+    public enum ValueSerializer {
+        JSON,
+        COMPACT
+    }
+}
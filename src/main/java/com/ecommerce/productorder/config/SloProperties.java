@@ -0,0 +1,43 @@
+package com.ecommerce.productorder.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Service level objectives for HTTP routes, reported by the {@code slo} actuator endpoint. Each latency
+ * threshold is also added as an SLO bucket of {@code http.server.requests}, so it can be counted exactly.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "slo")
+public class SloProperties {
+
+    /**
+     * Objective for routes without their own entry in routes
+     */
+    private Objective defaults = new Objective();
+
+    /**
+     * Objectives per route pattern (e.g. "[/api/orders/**]"), matched against the route template; first match wins
+     */
+    private Map<String, Objective> routes = new LinkedHashMap<>();
+
+    @Data
+    public static class Objective {
+
+        /**
+         * Requests slower than this count against the error budget, like server errors do
+         */
+        private Duration latencyThreshold = Duration.ofMillis(500);
+
+        /**
+         * Fraction of requests that must be fast and successful, e.g. 0.99 leaves an error budget of 1%
+         */
+        private double target = 0.99;
+    }
+}
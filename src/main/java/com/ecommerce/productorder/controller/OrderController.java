@@ -5,6 +5,7 @@ import com.ecommerce.productorder.model.dto.request.OrderRequest;
 import com.ecommerce.productorder.model.dto.response.OrderResponse;
 import com.ecommerce.productorder.model.dto.response.PagedResponse;
 import com.ecommerce.productorder.service.OrderService;
+import com.ecommerce.productorder.util.EntityTags;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -17,6 +18,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/orders")
@@ -35,9 +37,17 @@ public class OrderController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Get order by id", description = "Retrieve a single order by its id")
-    public ResponseEntity<OrderResponse> getOrderById(@PathVariable Long id) {
-        OrderResponse response = orderService.getOrderById(id);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<OrderResponse> getOrderById(@PathVariable Long id, WebRequest webRequest) {
+        OrderResponse response = orderService.getOrderIfModified(id, updatedAt ->
+                webRequest.checkNotModified(EntityTags.etag(id, updatedAt), EntityTags.lastModified(updatedAt)));
+        if (response == null) {
+            return null;
+        }
+
+        return ResponseEntity.ok()
+                .eTag(EntityTags.etag(response.getId(), response.getUpdatedAt()))
+                .lastModified(EntityTags.lastModified(response.getUpdatedAt()))
+                .body(response);
     }
 
     @GetMapping("/my-orders")
@@ -1,11 +1,16 @@
 package com.ecommerce.productorder.controller;
 
+import com.ecommerce.productorder.cache.PreparedProductResponses;
+import com.ecommerce.productorder.cache.PreparedResponse;
 import com.ecommerce.productorder.constant.Role;
 import com.ecommerce.productorder.model.dto.request.ProductRequest;
 import com.ecommerce.productorder.model.dto.response.PagedResponse;
 import com.ecommerce.productorder.model.dto.response.ProductResponse;
 import com.ecommerce.productorder.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,10 +18,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 
@@ -28,6 +36,9 @@ public class ProductController {
     @Autowired
     private ProductService productService;
 
+    @Autowired
+    private PreparedProductResponses preparedProductResponses;
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Create a new product", description = "Create a new product with name, description, price, and quantity")
@@ -38,9 +49,31 @@ public class ProductController {
 
     @GetMapping("/{id}")
     @Operation(summary = "Get product by id", description = "Retrieve a single product by its ID")
-    public ResponseEntity<ProductResponse> getProductById(@PathVariable Long id) {
-        ProductResponse response = productService.getProductById(id);
-        return ResponseEntity.ok(response);
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            schema = @Schema(implementation = ProductResponse.class)))
+    public ResponseEntity<byte[]> getProductById(@PathVariable Long id,
+                                                 @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false)
+                                                 String acceptEncoding,
+                                                 WebRequest webRequest) {
+        PreparedResponse response = preparedProductResponses.getProductById(id);
+        boolean gzip = response.getGzipBody() != null && PreparedResponse.acceptsGzip(acceptEncoding);
+        String etag = gzip ? response.getGzipEtag() : response.getEtag();
+        long lastModified = response.getLastModified() != null ? response.getLastModified() : -1;
+        if (webRequest.checkNotModified(etag, lastModified)) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (lastModified >= 0) {
+            builder.lastModified(lastModified);
+        }
+        if (gzip) {
+            return builder.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(response.getGzipBody());
+        }
+        return builder.body(response.getBody());
     }
 
     @GetMapping
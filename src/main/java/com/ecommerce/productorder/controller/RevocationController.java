@@ -0,0 +1,39 @@
+package com.ecommerce.productorder.controller;
+
+import com.ecommerce.productorder.model.dto.request.RevokeTokenRequest;
+import com.ecommerce.productorder.security.TokenRevocationService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/revocations")
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Revocations", description = "Endpoints for revoking issued JWT tokens")
+public class RevocationController {
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @PostMapping("/tokens")
+    @Operation(summary = "Revoke a token", description = "Reject a single token on every node until it expires")
+    public ResponseEntity<Void> revokeToken(@Valid @RequestBody RevokeTokenRequest request) {
+        tokenRevocationService.revokeToken(request.getToken());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/users/{userId}")
+    @Operation(summary = "Revoke all tokens of a user", description = "Reject every token issued to the user so far")
+    public ResponseEntity<Void> revokeUser(@PathVariable Long userId) {
+        tokenRevocationService.revokeUser(userId);
+        return ResponseEntity.noContent().build();
+    }
+}
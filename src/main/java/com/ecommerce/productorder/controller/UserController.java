@@ -1,16 +1,20 @@
 package com.ecommerce.productorder.controller;
 
 import com.ecommerce.productorder.model.dto.response.AuthResponse;
+import com.ecommerce.productorder.model.dto.response.BulkRegisterResponse;
+import com.ecommerce.productorder.model.dto.request.BulkRegisterRequest;
 import com.ecommerce.productorder.model.dto.request.LoginRequest;
 import com.ecommerce.productorder.model.dto.request.RegisterRequest;
 import com.ecommerce.productorder.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -32,10 +36,27 @@ public class UserController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/bulk-register")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Register users in bulk", description = "Create up to 1000 user accounts and return a result per row; no tokens are issued")
+    public ResponseEntity<BulkRegisterResponse> bulkRegister(@Valid @RequestBody BulkRegisterRequest request) {
+        BulkRegisterResponse response = userService.bulkRegister(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{id}/disable")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Disable a user", description = "Block the account and reject every token issued to it")
+    public ResponseEntity<Void> disableUser(@PathVariable Long id) {
+        userService.disableUser(id);
+        return ResponseEntity.noContent().build();
+    }
+
     @PostMapping("/login")
     @Operation(summary = "Login user", description = "Authenticate user and return JWT token")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
-        AuthResponse response = userService.login(request);
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request,
+                                              HttpServletRequest httpRequest) {
+        AuthResponse response = userService.login(request, httpRequest.getRemoteAddr());
         return ResponseEntity.ok(response);
     }
 }
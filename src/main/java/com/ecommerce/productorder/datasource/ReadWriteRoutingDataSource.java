@@ -0,0 +1,115 @@
+package com.ecommerce.productorder.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes read-only transactions to the replicas in turn and everything else to the primary. The routing key is
+ * read when a connection is obtained, so this must sit behind a {@link LazyConnectionDataSourceProxy}; otherwise
+ * the connection is fetched before the transaction is marked read-only.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    private final DataSource primary;
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaKeys;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ReplicaLagGuard lagGuard;
+    private final Counter writes;
+    private final Counter reads;
+    private final Counter readsAfterWrite;
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, ReplicaLagGuard lagGuard,
+                                      MeterRegistry meterRegistry) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required for read/write routing");
+        }
+        this.primary = primary;
+        this.replicas = replicas;
+        this.replicaKeys = new ArrayList<>(replicas.keySet());
+        this.lagGuard = lagGuard;
+        this.writes = connections(meterRegistry, PRIMARY, "write");
+        this.reads = connections(meterRegistry, "replica", "read");
+        this.readsAfterWrite = connections(meterRegistry, PRIMARY, "read_your_writes");
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    private static Counter connections(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("datasource.routing.connections")
+                .description("Connections handed out by the read/write routing data source")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                startReadYourWritesWindow();
+            }
+            writes.increment();
+            return PRIMARY;
+        }
+        if (lagGuard.mustReadPrimary()) {
+            readsAfterWrite.increment();
+            return PRIMARY;
+        }
+        reads.increment();
+        return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+    }
+
+    /**
+     * Opens the window now and again once the transaction commits, since replicas only start catching up then
+     */
+    private void startReadYourWritesWindow() {
+        lagGuard.recordWrite();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    lagGuard.recordWrite();
+                }
+            });
+        }
+    }
+
+    /**
+     * Closes the connection pools this data source routes to
+     */
+    @Override
+    public void close() {
+        closePool(PRIMARY, primary);
+        replicas.forEach(this::closePool);
+    }
+
+    private void closePool(String name, DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Failed to close data source {}: {}", name, e.getMessage());
+            }
+        }
+    }
+}
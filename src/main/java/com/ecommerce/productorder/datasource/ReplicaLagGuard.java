@@ -0,0 +1,78 @@
+package com.ecommerce.productorder.datasource;
+
+import com.ecommerce.productorder.model.entity.User;
+import com.ecommerce.productorder.util.LoggedInUser;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Remembers when each authenticated user last wrote, so that their reads in the following window go to the
+ * primary instead of a replica that may not have caught up yet. Bounded to the most recent writers.
+ * Guarded by a lock rather than a monitor, as it is consulted on every transaction and a virtual thread
+ * waiting on a monitor pins its carrier.
+ */
+public class ReplicaLagGuard {
+
+    private final long windowNanos;
+    private final Map<Long, Long> lastWrites;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public ReplicaLagGuard(Duration readYourWritesWindow, int maxTrackedWriters) {
+        this.windowNanos = readYourWritesWindow.toNanos();
+        this.lastWrites = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > maxTrackedWriters;
+            }
+        };
+    }
+
+    /**
+     * Starts the read-your-writes window of the current user, if the request has one
+     */
+    public void recordWrite() {
+        if (windowNanos <= 0) {
+            return;
+        }
+        LoggedInUser.find().map(User::getId).ifPresent(this::recordWrite);
+    }
+
+    void recordWrite(Long userId) {
+        lock.lock();
+        try {
+            lastWrites.put(userId, System.nanoTime());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether the current user wrote within the window and must read from the primary
+     */
+    public boolean mustReadPrimary() {
+        if (windowNanos <= 0) {
+            return false;
+        }
+        return LoggedInUser.find().map(User::getId).map(this::wroteRecently).orElse(false);
+    }
+
+    boolean wroteRecently(Long userId) {
+        lock.lock();
+        try {
+            Long writtenAt = lastWrites.get(userId);
+            if (writtenAt == null) {
+                return false;
+            }
+            if (System.nanoTime() - writtenAt >= windowNanos) {
+                lastWrites.remove(userId);
+                return false;
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.productorder.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AsyncAppenderBase;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Queue fill and discarded event metrics for the async appenders configured in logback-spring.xml
+ */
+@Component
+public class AsyncAppenderMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext)) {
+            return;
+        }
+
+        Map<AsyncAppenderBase<ILoggingEvent>, Boolean> appenders = new IdentityHashMap<>();
+        for (Logger logger : loggerContext.getLoggerList()) {
+            Iterator<Appender<ILoggingEvent>> iterator = logger.iteratorForAppenders();
+            while (iterator.hasNext()) {
+                if (iterator.next() instanceof AsyncAppenderBase<ILoggingEvent> asyncAppender) {
+                    appenders.put(asyncAppender, Boolean.TRUE);
+                }
+            }
+        }
+
+        for (AsyncAppenderBase<ILoggingEvent> appender : appenders.keySet()) {
+            String name = appender.getName();
+            Gauge.builder("logging.async.queue.size", appender, AsyncAppenderBase::getNumberOfElementsInQueue)
+                    .description("Log events waiting to be written by the async appender")
+                    .tag("appender", name)
+                    .register(registry);
+            Gauge.builder("logging.async.queue.capacity", appender, AsyncAppenderBase::getQueueSize)
+                    .description("Capacity of the async appender queue")
+                    .tag("appender", name)
+                    .register(registry);
+            if (appender instanceof MeteredAsyncAppender metered) {
+                FunctionCounter.builder("logging.async.discarded", metered, MeteredAsyncAppender::getDiscardedCount)
+                        .description("TRACE, DEBUG and INFO events discarded because the async appender queue was nearly full")
+                        .tag("appender", name)
+                        .register(registry);
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.ecommerce.productorder.logging;
+
+import com.ecommerce.productorder.config.LoggingProperties;
+import com.fasterxml.jackson.databind.util.RawValue;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import net.logstash.logback.argument.StructuredArguments;
+import org.slf4j.MDC;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.Charset;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redacts and writes HTTP log entries on a single background thread, so request threads only
+ * hand over the captured bytes. When the queue is full, entries are dropped and counted in
+ * {@code http.log.dropped} rather than slowing requests down.
+ */
+@Component
+@Slf4j
+public class HttpLogWriter {
+
+    private static final int MAX_UNPARSED_BODY_LENGTH = 1000;
+
+    private final JsonRedactor jsonRedactor;
+    private final ThreadPoolExecutor executor;
+    private final Counter droppedCounter;
+
+    public HttpLogWriter(JsonRedactor jsonRedactor, LoggingProperties loggingProperties, MeterRegistry meterRegistry) {
+        this.jsonRedactor = jsonRedactor;
+        this.droppedCounter = Counter.builder("http.log.dropped")
+                .description("HTTP log entries dropped because the log writer queue was full")
+                .register(meterRegistry);
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(loggingProperties.getHttp().getQueueCapacity()),
+                new CustomizableThreadFactory("http-log-"),
+                (task, pool) -> droppedCounter.increment());
+        Gauge.builder("http.log.queue.depth", executor, e -> e.getQueue().size())
+                .description("HTTP log entries waiting for the log writer")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Captured body of a request or response
+     *
+     * @param truncated whether the body was longer than what was captured
+     */
+    public record Body(byte[] content, Charset charset, long totalSize, boolean truncated) {
+    }
+
+    /**
+     * Queues the request and response for logging with the caller's MDC
+     */
+    public void submit(Map<String, Object> request, Body requestBody, Map<String, Object> response, Body responseBody) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        executor.execute(() -> write(mdc, request, requestBody, response, responseBody));
+    }
+
+    private void write(Map<String, String> mdc, Map<String, Object> request, Body requestBody,
+                       Map<String, Object> response, Body responseBody) {
+        if (mdc != null) {
+            MDC.setContextMap(mdc);
+        }
+        try {
+            addBody(request, requestBody);
+            addBody(response, responseBody);
+            log.info("HTTP_REQUEST", StructuredArguments.keyValue("request", request));
+            log.info("HTTP_RESPONSE", StructuredArguments.keyValue("response", response));
+        } catch (Exception e) {
+            log.error("Error writing HTTP log entry", e);
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    private void addBody(Map<String, Object> data, Body body) {
+        if (body == null || body.content().length == 0) {
+            return;
+        }
+        String redacted = jsonRedactor.redact(body.content(), body.content().length, body.charset());
+        if (redacted != null) {
+            // Already serialized JSON, embedded as-is by the JSON encoder
+            data.put("body", new RawValue(redacted));
+        } else if (!body.truncated()) {
+            // Not JSON, log as-is (truncated if too long)
+            String text = new String(body.content(), body.charset());
+            data.put("body", text.length() > MAX_UNPARSED_BODY_LENGTH ? text.substring(0, MAX_UNPARSED_BODY_LENGTH) + "..." : text);
+        }
+        // A truncated body that is not JSON is not logged, as sensitive fields could not be masked
+        if (body.truncated()) {
+            data.put("bodyTruncated", true);
+            data.put("bodySize", body.totalSize());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdown();
+        executor.awaitTermination(2, TimeUnit.SECONDS);
+    }
+}
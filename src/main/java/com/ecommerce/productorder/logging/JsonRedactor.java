@@ -0,0 +1,133 @@
+package com.ecommerce.productorder.logging;
+
+import com.ecommerce.productorder.config.LoggingProperties;
+import com.ecommerce.productorder.constant.ApplicationConstant;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Masks sensitive fields in JSON bodies in a single streaming pass from parser to generator,
+ * without building a tree. Field and header names are checked against {@code logging.sensitive-fields}
+ * with a matcher compiled once at startup.
+ */
+@Component
+public class JsonRedactor {
+
+    private final JsonFactory jsonFactory;
+    private final SensitiveKeyMatcher matcher;
+
+    public JsonRedactor(ObjectMapper objectMapper, LoggingProperties loggingProperties) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.matcher = new SensitiveKeyMatcher(loggingProperties.getSensitiveFields());
+    }
+
+    /**
+     * Whether a field or header name contains one of the sensitive field names, ignoring case
+     */
+    public boolean isSensitive(String name) {
+        return matcher.matches(name);
+    }
+
+    /**
+     * Redacted copy of a JSON body. Input that ends early (e.g. a truncated capture) yields the
+     * redacted part read so far, closed into valid JSON.
+     *
+     * @return the redacted JSON, or null when the content is not JSON
+     */
+    public String redact(byte[] content, int length, Charset charset) {
+        StringWriter output = new StringWriter(length);
+        try (JsonParser parser = createParser(content, length, charset);
+             JsonGenerator generator = jsonFactory.createGenerator(output)) {
+            if (!copyRedacted(parser, generator)) {
+                return null;
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return output.toString();
+    }
+
+    private JsonParser createParser(byte[] content, int length, Charset charset) throws IOException {
+        if (StandardCharsets.UTF_8.equals(charset) || StandardCharsets.US_ASCII.equals(charset)) {
+            return jsonFactory.createParser(content, 0, length);
+        }
+        return jsonFactory.createParser(new String(content, 0, length, charset));
+    }
+
+    /**
+     * Copies tokens, replacing the value of every sensitive field with the masked value. A field name is
+     * written only together with its value, so the output stays well-formed if the input ends early.
+     *
+     * @return false when the input does not start with JSON
+     */
+    private boolean copyRedacted(JsonParser parser, JsonGenerator generator) throws IOException {
+        JsonToken token;
+        try {
+            token = parser.nextToken();
+        } catch (IOException e) {
+            return false;
+        }
+        if (token == null) {
+            return false;
+        }
+
+        try {
+            while (token != null) {
+                if (token == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    if (matcher.matches(name)) {
+                        generator.writeStringField(name, ApplicationConstant.MASKED_VALUE);
+                        parser.nextToken();
+                        parser.skipChildren();
+                    } else {
+                        token = parser.nextToken();
+                        if (token == null) {
+                            break;
+                        }
+                        if (token == JsonToken.VALUE_STRING) {
+                            // Strings are decoded lazily; finish this one before committing its name
+                            parser.getTextLength();
+                        }
+                        generator.writeFieldName(name);
+                        continue;
+                    }
+                } else {
+                    copyToken(token, parser, generator);
+                }
+                token = parser.nextToken();
+            }
+        } catch (IOException e) {
+            // Input ended early or is malformed: keep what was redacted so far
+        }
+        return true;
+    }
+
+    /**
+     * Copies a token, taking strings and numbers straight from the parser's character buffer
+     * instead of materializing String or BigDecimal values
+     */
+    private static void copyToken(JsonToken token, JsonParser parser, JsonGenerator generator) throws IOException {
+        switch (token) {
+            case START_OBJECT -> generator.writeStartObject();
+            case END_OBJECT -> generator.writeEndObject();
+            case START_ARRAY -> generator.writeStartArray();
+            case END_ARRAY -> generator.writeEndArray();
+            case VALUE_STRING -> generator.writeString(
+                    parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            case VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT -> generator.writeNumber(
+                    parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            case VALUE_TRUE, VALUE_FALSE -> generator.writeBoolean(token == JsonToken.VALUE_TRUE);
+            case VALUE_NULL -> generator.writeNull();
+            default -> generator.copyCurrentEventExact(parser);
+        }
+    }
+}
@@ -2,27 +2,34 @@ package com.ecommerce.productorder.logging;
 
 import com.ecommerce.productorder.config.LoggingProperties;
 import com.ecommerce.productorder.constant.ApplicationConstant;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
-import net.logstash.logback.argument.StructuredArguments;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.util.ContentCachingRequestWrapper;
-import org.springframework.web.util.ContentCachingResponseWrapper;
 
 import java.io.IOException;
-import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Unified filter for correlation ID and HTTP request/response logging
+ * Unified filter for correlation ID and HTTP request/response logging. Requests are sampled per
+ * route, bodies are captured up to a size limit without buffering the response, and sanitizing
+ * and writing happen on {@link HttpLogWriter}'s background thread. Every request is timed, and
+ * slow or failed ones are kept by {@link SlowRequestRecorder} whether or not they were sampled; bodies of
+ * requests not sampled for FULL logging are only captured when the recorder asks for them.
  */
 @Component
 @Order(1)
@@ -30,10 +37,21 @@ import java.util.*;
 public class LoggingFilter extends OncePerRequestFilter {
 
     @Autowired
-    private ObjectMapper objectMapper;
+    private LoggingProperties loggingProperties;
 
     @Autowired
-    private LoggingProperties loggingProperties;
+    private HttpLogWriter httpLogWriter;
+
+    @Autowired
+    private JsonRedactor jsonRedactor;
+
+    @Autowired
+    private SlowRequestRecorder slowRequestRecorder;
+
+    @Autowired
+    private RequestProfileMetrics requestProfileMetrics;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -55,95 +73,155 @@ public class LoggingFilter extends OncePerRequestFilter {
         MDC.put(ApplicationConstant.CORRELATION_ID_MDC_KEY, correlationId);
         response.setHeader(ApplicationConstant.CORRELATION_ID_HEADER, correlationId);
 
-        // Wrap request and response to cache body content
-        ContentCachingRequestWrapper requestWrapper = new ContentCachingRequestWrapper(request);
-        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        RequestProfile profile = RequestProfile.start();
+        request.setAttribute(RequestProfile.ATTRIBUTE, profile);
+        LoggingProperties.Http http = loggingProperties.getHttp();
+        boolean logged = http.getMode() != LoggingProperties.HttpLogMode.OFF && isSampled(request);
+        boolean recordSlow = slowRequestRecorder.isEnabled();
+        if (!logged && !recordSlow) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                recordMetrics(request, profile);
+                RequestProfile.clear();
+                MDC.clear();
+            }
+            return;
+        }
 
-        long startTime = System.currentTimeMillis();
+        // Capture bodies up to the size limit; the response is still written straight to the client.
+        // Slowness is only known at the end, so unlogged requests are captured only when slow ones should keep bodies
+        boolean logBodies = logged && http.getMode() == LoggingProperties.HttpLogMode.FULL;
+        boolean captureBodies = logBodies || (recordSlow && slowRequestRecorder.isCaptureBodies());
+        int maxBodySize = (int) http.getMaxBodySize().toBytes();
+        ContentCachingRequestWrapper requestWrapper = captureBodies && hasBody(request.getMethod())
+                ? new ContentCachingRequestWrapper(request, maxBodySize) : null;
+        TeeResponseWrapper responseWrapper = captureBodies ? new TeeResponseWrapper(response, maxBodySize) : null;
 
+        boolean completed = false;
         try {
-            // Log request
-            logRequest(requestWrapper);
-
             // Process the request
-            filterChain.doFilter(requestWrapper, responseWrapper);
+            filterChain.doFilter(requestWrapper != null ? requestWrapper : request,
+                    responseWrapper != null ? responseWrapper : response);
+            completed = true;
 
         } finally {
-            long duration = System.currentTimeMillis() - startTime;
+            long durationNanos = profile.getElapsedNanos();
+            if (responseWrapper != null) {
+                responseWrapper.flushWriter();
+            }
 
-            // Log response
-            logResponse(responseWrapper, duration);
+            try {
+                HttpLogWriter.Body requestBody = requestBody(requestWrapper, maxBodySize);
+                HttpLogWriter.Body responseBody = responseBody(responseWrapper);
+
+                // Hand over to the background writer, which sanitizes and logs request and response
+                if (logged) {
+                    Map<String, Object> requestData = buildRequestData(request);
+                    Map<String, Object> responseData = buildResponseData(response, requestData.get("url"),
+                            TimeUnit.NANOSECONDS.toMillis(durationNanos));
+                    httpLogWriter.submit(requestData, logBodies ? requestBody : null, responseData,
+                            logBodies ? responseBody : null);
+                }
 
-            // Copy response body to actual response
-            responseWrapper.copyBodyToResponse();
+                int status = completed ? response.getStatus() : HttpServletResponse.SC_INTERNAL_SERVER_ERROR;
+                if (recordSlow && slowRequestRecorder.shouldRecord(request.getRequestURI(), status, durationNanos)) {
+                    slowRequestRecorder.record(Instant.now(), correlationId, request.getMethod(),
+                            request.getRequestURI(), route(request),
+                            status, durationNanos, profile, getHeaders(request), requestBody, responseBody);
+                }
+            } catch (Exception e) {
+                log.error("Error logging request", e);
+            }
+            recordMetrics(request, profile);
 
             // Clean up MDC
+            RequestProfile.clear();
             MDC.clear();
         }
     }
 
-    private void logRequest(ContentCachingRequestWrapper request) {
-        try {
-            Map<String, Object> requestData = new LinkedHashMap<>();
-            String url = request.getRequestURL().toString();
-            String queryString = request.getQueryString();
-            if (queryString != null) {
-                url = url + "?" + queryString;
-            }
+    /**
+     * Per-route SQL metrics; requests that did not reach a handler have no route and are skipped
+     */
+    private void recordMetrics(HttpServletRequest request, RequestProfile profile) {
+        String route = route(request);
+        if (route != null) {
+            requestProfileMetrics.record(request.getMethod(), route, profile);
+        }
+    }
 
-            requestData.put("method", request.getMethod());
-            requestData.put("url", url);
-            requestData.put("uri", request.getRequestURI());
-            requestData.put("queryString", request.getQueryString());
-            requestData.put("headers", getHeaders(request));
-            requestData.put("remoteAddr", request.getRemoteAddr());
-
-            // Log request body for POST, PUT, PATCH
-            if (hasBody(request.getMethod())) {
-                String body = getRequestBody(request);
-                if (body != null && !body.isEmpty()) {
-                    requestData.put("body", parseJsonBody(body));
-                }
-            }
+    private static String route(HttpServletRequest request) {
+        return (String) request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    }
 
-            // Store URL in MDC for response logging
-            MDC.put("url", url);
+    private Map<String, Object> buildRequestData(HttpServletRequest request) {
+        Map<String, Object> requestData = new LinkedHashMap<>();
+        String url = request.getRequestURL().toString();
+        String queryString = request.getQueryString();
+        if (queryString != null) {
+            url = url + "?" + queryString;
+        }
 
-            // Log using StructuredArguments for proper JSON formatting
-            log.info("HTTP_REQUEST", StructuredArguments.keyValue("request", requestData));
+        requestData.put("method", request.getMethod());
+        requestData.put("url", url);
+        requestData.put("uri", request.getRequestURI());
+        requestData.put("queryString", request.getQueryString());
+        requestData.put("headers", getHeaders(request));
+        requestData.put("remoteAddr", request.getRemoteAddr());
+        return requestData;
+    }
 
-        } catch (Exception e) {
-            log.error("Error logging request", e);
-        }
+    private Map<String, Object> buildResponseData(HttpServletResponse response, Object url, long duration) {
+        Map<String, Object> responseData = new LinkedHashMap<>();
+        responseData.put("url", url);
+        responseData.put("status", response.getStatus());
+        responseData.put("headers", getHeaders(response));
+        responseData.put("durationMs", duration);
+        return responseData;
     }
 
-    private void logResponse(ContentCachingResponseWrapper response, long duration) {
-        try {
-            Map<String, Object> responseData = new LinkedHashMap<>();
+    private HttpLogWriter.Body requestBody(ContentCachingRequestWrapper request, int maxBodySize) {
+        if (request == null) {
+            return null;
+        }
+        byte[] content = request.getContentAsByteArray();
+        long contentLength = request.getContentLengthLong();
+        boolean truncated = content.length >= maxBodySize && (contentLength < 0 || contentLength > content.length);
+        return new HttpLogWriter.Body(content, charset(request.getCharacterEncoding()),
+                Math.max(contentLength, content.length), truncated);
+    }
 
-            // Get URL from MDC (set during request logging)
-            String url = MDC.get("url");
+    private HttpLogWriter.Body responseBody(TeeResponseWrapper response) {
+        if (response == null) {
+            return null;
+        }
+        return new HttpLogWriter.Body(response.getCapturedBody(), charset(response.getCharacterEncoding()),
+                response.getTotalSize(), response.isTruncated());
+    }
 
-            responseData.put("url", url);
-            responseData.put("status", response.getStatus());
-            responseData.put("headers", getHeaders(response));
-            responseData.put("durationMs", duration);
+    private static Charset charset(String encoding) {
+        try {
+            return encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        } catch (IllegalArgumentException e) {
+            return StandardCharsets.UTF_8;
+        }
+    }
 
-            // Log response body
-            String body = getResponseBody(response);
-            if (body != null && !body.isEmpty()) {
-                responseData.put("body", parseJsonBody(body));
+    /**
+     * Whether this request is logged, using the first matching route sample rate or the default one
+     */
+    private boolean isSampled(HttpServletRequest request) {
+        LoggingProperties.Http http = loggingProperties.getHttp();
+        double sampleRate = http.getSampleRate();
+        String path = request.getRequestURI();
+        for (Map.Entry<String, Double> route : http.getRouteSampleRates().entrySet()) {
+            if (pathMatcher.match(route.getKey(), path)) {
+                sampleRate = route.getValue();
+                break;
             }
-
-            // Log using StructuredArguments for proper JSON formatting
-            log.info("HTTP_RESPONSE", StructuredArguments.keyValue("response", responseData));
-
-        } catch (Exception e) {
-            log.error("Error logging response", e);
-        } finally {
-            // Clean up URL from MDC
-            MDC.remove("url");
         }
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
     }
 
     private Map<String, String> getHeaders(HttpServletRequest request) {
@@ -170,72 +248,7 @@ public class LoggingFilter extends OncePerRequestFilter {
     }
 
     private boolean isSensitiveHeader(String headerName) {
-        String lowerCaseName = headerName.toLowerCase();
-        return loggingProperties.getSensitiveFields().stream()
-                .anyMatch(sensitiveField -> lowerCaseName.contains(sensitiveField.toLowerCase()));
-    }
-
-    private String getRequestBody(ContentCachingRequestWrapper request) {
-        byte[] content = request.getContentAsByteArray();
-        if (content.length > 0) {
-            try {
-                return new String(content, request.getCharacterEncoding());
-            } catch (UnsupportedEncodingException e) {
-                log.error("Error reading request body", e);
-            }
-        }
-        return null;
-    }
-
-    private String getResponseBody(ContentCachingResponseWrapper response) {
-        byte[] content = response.getContentAsByteArray();
-        if (content.length > 0) {
-            try {
-                return new String(content, response.getCharacterEncoding());
-            } catch (UnsupportedEncodingException e) {
-                log.error("Error reading response body", e);
-            }
-        }
-        return null;
-    }
-
-    private Object parseJsonBody(String body) {
-        // Try to parse as JSON and sanitize sensitive fields
-        try {
-            Object jsonObject = objectMapper.readValue(body, Object.class);
-            return sanitizeJsonObject(jsonObject);
-        } catch (Exception e) {
-            // Not JSON or parse error, return as-is (truncated if too long)
-            return body.length() > 1000 ? body.substring(0, 1000) + "..." : body;
-        }
-    }
-
-    @SuppressWarnings("unchecked")
-    private Object sanitizeJsonObject(Object obj) {
-        if (obj instanceof Map) {
-            Map<String, Object> map = (Map<String, Object>) obj;
-            Map<String, Object> sanitized = new LinkedHashMap<>();
-            for (Map.Entry<String, Object> entry : map.entrySet()) {
-                String key = entry.getKey().toLowerCase();
-                boolean isSensitive = loggingProperties.getSensitiveFields().stream()
-                        .anyMatch(sensitiveField -> key.contains(sensitiveField.toLowerCase()));
-
-                if (isSensitive) {
-                    sanitized.put(entry.getKey(), ApplicationConstant.MASKED_VALUE);
-                } else {
-                    sanitized.put(entry.getKey(), sanitizeJsonObject(entry.getValue()));
-                }
-            }
-            return sanitized;
-        } else if (obj instanceof List) {
-            List<Object> list = (List<Object>) obj;
-            List<Object> sanitized = new ArrayList<>();
-            for (Object item : list) {
-                sanitized.add(sanitizeJsonObject(item));
-            }
-            return sanitized;
-        }
-        return obj;
+        return jsonRedactor.isSensitive(headerName);
     }
 
     private boolean hasBody(String method) {
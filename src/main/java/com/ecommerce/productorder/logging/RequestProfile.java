@@ -0,0 +1,102 @@
+package com.ecommerce.productorder.logging;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Timing breakdown of the request being handled on the current thread. Started by {@link LoggingFilter}
+ * for every request, filled in by {@link RequestProfileInterceptor} and {@link SqlExecutionListener},
+ * and cheap enough to keep for requests that are not logged.
+ */
+public final class RequestProfile {
+
+    /**
+     * Request attribute holding the profile, so that it can be read once the request has completed
+     */
+    public static final String ATTRIBUTE = RequestProfile.class.getName();
+
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+    private final long startNanos = System.nanoTime();
+    private long handlerStartNanos;
+    private long handlerNanos;
+    private int sqlStatements;
+    private long sqlNanos;
+    private int repeatedStatements;
+    private Map<String, Integer> executionsBySql;
+
+    private RequestProfile() {
+    }
+
+    static RequestProfile start() {
+        RequestProfile profile = new RequestProfile();
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Profile of the current request, or null outside of a request
+     */
+    static RequestProfile current() {
+        return CURRENT.get();
+    }
+
+    void handlerStarted() {
+        handlerStartNanos = System.nanoTime();
+    }
+
+    void handlerCompleted() {
+        if (handlerStartNanos != 0) {
+            handlerNanos = System.nanoTime() - handlerStartNanos;
+        }
+    }
+
+    /**
+     * Records an executed statement and returns how often this SQL has been executed in the request so far
+     */
+    int sqlExecuted(String sql, long nanos) {
+        sqlStatements++;
+        sqlNanos += nanos;
+        if (executionsBySql == null) {
+            executionsBySql = new HashMap<>();
+        }
+        return executionsBySql.merge(sql, 1, Integer::sum);
+    }
+
+    void repeatedStatementDetected() {
+        repeatedStatements++;
+    }
+
+    long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Time spent in the controller, including the services it calls and writing the response body
+     */
+    long getHandlerNanos() {
+        return handlerNanos;
+    }
+
+    /**
+     * SQL statements executed on the request thread
+     */
+    public int getSqlStatements() {
+        return sqlStatements;
+    }
+
+    long getSqlNanos() {
+        return sqlNanos;
+    }
+
+    /**
+     * Distinct statements executed often enough in this request to be reported as a likely N+1 query
+     */
+    public int getRepeatedStatements() {
+        return repeatedStatements;
+    }
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.productorder.logging;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Measures the handler part of the request profile, separating controller time from time spent in filters
+ */
+@Component
+public class RequestProfileInterceptor implements HandlerInterceptor {
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.handlerStarted();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestProfile profile = RequestProfile.current();
+        if (profile != null) {
+            profile.handlerCompleted();
+        }
+    }
+}
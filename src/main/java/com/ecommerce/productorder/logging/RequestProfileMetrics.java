@@ -0,0 +1,40 @@
+package com.ecommerce.productorder.logging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the SQL part of each request profile per route, tagged like {@code http.server.requests}
+ */
+@Component
+@RequiredArgsConstructor
+public class RequestProfileMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    public void record(String method, String route, RequestProfile profile) {
+        DistributionSummary.builder("http.server.requests.sql.statements")
+                .description("SQL statements executed per request")
+                .tags("method", method, "uri", route)
+                .register(meterRegistry)
+                .record(profile.getSqlStatements());
+        Timer.builder("http.server.requests.sql.time")
+                .description("Time spent executing SQL per request")
+                .tags("method", method, "uri", route)
+                .register(meterRegistry)
+                .record(profile.getSqlNanos(), TimeUnit.NANOSECONDS);
+        if (profile.getRepeatedStatements() > 0) {
+            Counter.builder("http.server.requests.sql.repeated")
+                    .description("Statements executed repeatedly within one request, likely N+1 queries")
+                    .tags("method", method, "uri", route)
+                    .register(meterRegistry)
+                    .increment(profile.getRepeatedStatements());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.ecommerce.productorder.logging;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+
+/**
+ * Case-insensitive "contains any of" matcher for field and header names, compiled once into an
+ * Aho-Corasick automaton. A name is scanned in a single pass regardless of the number of
+ * patterns, without lowercasing it into a new string.
+ */
+final class SensitiveKeyMatcher {
+
+    private static final int ASCII = 128;
+
+    /**
+     * Symbol per ASCII character, and for the few non-ASCII characters that occur in patterns;
+     * every other character maps to symbol 0, which never advances a match
+     */
+    private final int[] asciiSymbols = new int[ASCII];
+    private final Map<Character, Integer> otherSymbols = new HashMap<>();
+    private final int symbolCount;
+
+    /**
+     * Complete transition table (states x symbols) and accepting states
+     */
+    private final int[] transitions;
+    private final boolean[] accepting;
+
+    SensitiveKeyMatcher(Collection<String> patterns) {
+        List<String> lowerCasePatterns = new ArrayList<>();
+        int symbols = 1;
+        for (String pattern : patterns) {
+            if (pattern == null || pattern.isEmpty()) {
+                continue;
+            }
+            String lowerCase = toLowerCase(pattern);
+            lowerCasePatterns.add(lowerCase);
+            for (int i = 0; i < lowerCase.length(); i++) {
+                char c = lowerCase.charAt(i);
+                if (c < ASCII) {
+                    if (asciiSymbols[c] == 0) {
+                        asciiSymbols[c] = symbols++;
+                    }
+                } else if (!otherSymbols.containsKey(c)) {
+                    otherSymbols.put(c, symbols++);
+                }
+            }
+        }
+        this.symbolCount = symbols;
+
+        // Trie of the patterns, -1 meaning no edge yet
+        List<int[]> trie = new ArrayList<>();
+        List<Boolean> terminal = new ArrayList<>();
+        trie.add(newState());
+        terminal.add(false);
+        for (String pattern : lowerCasePatterns) {
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                int symbol = symbol(pattern.charAt(i));
+                if (trie.get(state)[symbol] < 0) {
+                    trie.get(state)[symbol] = trie.size();
+                    trie.add(newState());
+                    terminal.add(false);
+                }
+                state = trie.get(state)[symbol];
+            }
+            terminal.set(state, true);
+        }
+
+        // Breadth-first pass filling missing edges from failure links, turning the trie into a DFA
+        int stateCount = trie.size();
+        this.transitions = new int[stateCount * symbolCount];
+        this.accepting = new boolean[stateCount];
+        int[] failure = new int[stateCount];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int symbol = 0; symbol < symbolCount; symbol++) {
+            int next = trie.get(0)[symbol];
+            transitions[symbol] = Math.max(next, 0);
+            if (next > 0) {
+                queue.add(next);
+            }
+        }
+        accepting[0] = terminal.get(0);
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            accepting[state] = terminal.get(state) || accepting[failure[state]];
+            for (int symbol = 0; symbol < symbolCount; symbol++) {
+                int next = trie.get(state)[symbol];
+                if (next > 0) {
+                    failure[next] = transitions[failure[state] * symbolCount + symbol];
+                    transitions[state * symbolCount + symbol] = next;
+                    queue.add(next);
+                } else {
+                    transitions[state * symbolCount + symbol] = transitions[failure[state] * symbolCount + symbol];
+                }
+            }
+        }
+    }
+
+    /**
+     * Whether the name contains any of the patterns, ignoring case
+     */
+    boolean matches(CharSequence name) {
+        int state = 0;
+        for (int i = 0; i < name.length(); i++) {
+            state = transitions[state * symbolCount + symbol(Character.toLowerCase(name.charAt(i)))];
+            if (accepting[state]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int symbol(char c) {
+        if (c < ASCII) {
+            return asciiSymbols[c];
+        }
+        if (otherSymbols.isEmpty()) {
+            return 0;
+        }
+        return otherSymbols.getOrDefault(c, 0);
+    }
+
+    private int[] newState() {
+        int[] edges = new int[symbolCount];
+        Arrays.fill(edges, -1);
+        return edges;
+    }
+
+    private static String toLowerCase(String pattern) {
+        StringBuilder lowerCase = new StringBuilder(pattern.length());
+        for (int i = 0; i < pattern.length(); i++) {
+            lowerCase.append(Character.toLowerCase(pattern.charAt(i)));
+        }
+        return lowerCase.toString();
+    }
+}
@@ -0,0 +1,128 @@
+package com.ecommerce.productorder.logging;
+
+import com.ecommerce.productorder.config.LoggingProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Keeps the most recent slow or failed requests, with their sanitized bodies when these were captured,
+ * in a fixed-size ring buffer. Only retained requests are redacted.
+ */
+@Component
+public class SlowRequestRecorder {
+
+    private final LoggingProperties.SlowRequests properties;
+    private final JsonRedactor jsonRedactor;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final AtomicReferenceArray<SlowRequest> entries;
+    private final AtomicLong recorded = new AtomicLong();
+
+    public SlowRequestRecorder(LoggingProperties loggingProperties, JsonRedactor jsonRedactor) {
+        this.properties = loggingProperties.getSlowRequests();
+        this.jsonRedactor = jsonRedactor;
+        this.entries = new AtomicReferenceArray<>(Math.max(1, properties.getCapacity()));
+    }
+
+    /**
+     * A retained request
+     *
+     * @param reason {@code SLOW} or {@code ERROR}
+     * @param filtersMs time outside the controller: security, logging and other filters
+     * @param sqlStatements SQL statements executed while handling the request
+     * @param repeatedStatements distinct statements executed often enough to be a likely N+1 query
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record SlowRequest(Instant timestamp, String correlationId, String reason, String method, String uri,
+                              String route, int status, long durationMs, long handlerMs, long filtersMs,
+                              int sqlStatements, long sqlTimeMs, int repeatedStatements,
+                              Map<String, String> requestHeaders,
+                              @JsonRawValue String requestBody, @JsonRawValue String responseBody) {
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Whether {@link LoggingFilter} captures the bodies of requests it does not log, in case they turn out slow
+     */
+    public boolean isCaptureBodies() {
+        return properties.isCaptureBodies();
+    }
+
+    /**
+     * Whether a request to this path with this outcome is retained
+     */
+    public boolean shouldRecord(String path, int status, long durationNanos) {
+        return durationNanos >= thresholdFor(path).toNanos() || isError(status);
+    }
+
+    public void record(Instant timestamp, String correlationId, String method, String uri, String route, int status,
+                       long durationNanos, RequestProfile profile, Map<String, String> requestHeaders,
+                       HttpLogWriter.Body requestBody, HttpLogWriter.Body responseBody) {
+        long durationMs = Duration.ofNanos(durationNanos).toMillis();
+        long handlerMs = Duration.ofNanos(profile.getHandlerNanos()).toMillis();
+        SlowRequest entry = new SlowRequest(timestamp, correlationId,
+                durationNanos >= thresholdFor(uri).toNanos() ? "SLOW" : "ERROR", method, uri, route, status,
+                durationMs, handlerMs, Math.max(0, durationMs - handlerMs), profile.getSqlStatements(),
+                Duration.ofNanos(profile.getSqlNanos()).toMillis(), profile.getRepeatedStatements(),
+                requestHeaders, redact(requestBody), redact(responseBody));
+        entries.set((int) (recorded.getAndIncrement() % entries.length()), entry);
+    }
+
+    /**
+     * Retained requests, slowest first
+     */
+    public List<SlowRequest> getSlowest(int limit) {
+        List<SlowRequest> result = new ArrayList<>(entries.length());
+        for (int i = 0; i < entries.length(); i++) {
+            SlowRequest entry = entries.get(i);
+            if (entry != null) {
+                result.add(entry);
+            }
+        }
+        result.sort(Comparator.comparingLong(SlowRequest::durationMs).reversed());
+        return result.size() > limit ? result.subList(0, limit) : result;
+    }
+
+    /**
+     * Requests retained since startup, including those already overwritten
+     */
+    public long getRecordedCount() {
+        return recorded.get();
+    }
+
+    private Duration thresholdFor(String path) {
+        for (Map.Entry<String, Duration> route : properties.getRouteThresholds().entrySet()) {
+            if (pathMatcher.match(route.getKey(), path)) {
+                return route.getValue();
+            }
+        }
+        return properties.getThreshold();
+    }
+
+    private boolean isError(int status) {
+        return properties.isCaptureErrors() && status >= 500;
+    }
+
+    /**
+     * Redacted JSON body, or null when the body is empty or not JSON, as it could not be masked
+     */
+    private String redact(HttpLogWriter.Body body) {
+        if (body == null || body.content().length == 0) {
+            return null;
+        }
+        return jsonRedactor.redact(body.content(), body.content().length, body.charset());
+    }
+}
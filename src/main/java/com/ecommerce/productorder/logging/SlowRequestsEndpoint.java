@@ -0,0 +1,33 @@
+package com.ecommerce.productorder.logging;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@code /actuator/slowrequests}: the slowest recently retained requests, with correlation IDs,
+ * timing breakdown and sanitized bodies. Restricted to admins in {@code SecurityConfig}.
+ */
+@Component
+@Endpoint(id = "slowrequests")
+@RequiredArgsConstructor
+public class SlowRequestsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final SlowRequestRecorder slowRequestRecorder;
+
+    @ReadOperation
+    public Map<String, Object> slowRequests(@Nullable Integer limit) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", slowRequestRecorder.isEnabled());
+        result.put("recorded", slowRequestRecorder.getRecordedCount());
+        result.put("requests", slowRequestRecorder.getSlowest(limit != null && limit > 0 ? limit : DEFAULT_LIMIT));
+        return result;
+    }
+}
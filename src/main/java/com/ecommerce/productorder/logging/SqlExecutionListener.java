@@ -0,0 +1,77 @@
+package com.ecommerce.productorder.logging;
+
+import com.ecommerce.productorder.config.LoggingProperties;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attributes executed SQL statements and their time to the current {@link RequestProfile}, logs slow
+ * statements with the types of their bind parameters (never the values), and warns when the same
+ * statement runs repeatedly within one request, which usually means an N+1 query.
+ */
+@Component
+@Slf4j
+public class SqlExecutionListener implements QueryExecutionListener {
+
+    private final LoggingProperties.Sql properties;
+
+    public SqlExecutionListener(LoggingProperties loggingProperties) {
+        this.properties = loggingProperties.getSql();
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        long elapsedMs = execInfo.getElapsedTime();
+        if (elapsedMs >= properties.getSlowQueryThreshold().toMillis()) {
+            for (QueryInfo query : queryInfoList) {
+                log.warn("Slow SQL statement took {} ms: {} parameters={}", elapsedMs, query.getQuery(),
+                        parameterShape(query));
+            }
+        }
+
+        RequestProfile profile = RequestProfile.current();
+        if (profile == null) {
+            return;
+        }
+        // The elapsed time covers the whole execution, so it is attributed to its first statement
+        long nanos = TimeUnit.MILLISECONDS.toNanos(elapsedMs);
+        for (QueryInfo query : queryInfoList) {
+            int executions = profile.sqlExecuted(query.getQuery(), nanos);
+            nanos = 0;
+            if (executions == properties.getRepeatedStatementThreshold()) {
+                profile.repeatedStatementDetected();
+                log.warn("SQL statement executed {} times in one request, likely an N+1 query: {}",
+                        executions, query.getQuery());
+            }
+        }
+    }
+
+    /**
+     * Types of the bind parameters, e.g. {@code [Long, String]}, or the number of parameter sets of a batch
+     */
+    private static String parameterShape(QueryInfo query) {
+        List<List<ParameterSetOperation>> parameterSets = query.getParametersList();
+        if (parameterSets.isEmpty()) {
+            return "[]";
+        }
+        StringJoiner shape = new StringJoiner(", ", "[", "]");
+        for (ParameterSetOperation operation : parameterSets.get(0)) {
+            Object[] args = operation.getArgs();
+            Object value = args.length > 1 && !"setNull".equals(operation.getMethod().getName()) ? args[1] : null;
+            shape.add(value == null ? "null" : value.getClass().getSimpleName());
+        }
+        return parameterSets.size() > 1 ? shape + " x " + parameterSets.size() : shape.toString();
+    }
+}
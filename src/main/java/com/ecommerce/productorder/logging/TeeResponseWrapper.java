@@ -0,0 +1,211 @@
+package com.ecommerce.productorder.logging;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.List;
+
+/**
+ * Writes the response straight through to the client and keeps a copy of at most
+ * {@code maxCaptureSize} bytes for logging. Nothing is captured for encoded bodies or
+ * streaming content types, so those are never buffered. Resetting the response also drops
+ * what was captured, so the copy matches what the client receives.
+ */
+class TeeResponseWrapper extends HttpServletResponseWrapper {
+
+    private static final List<MediaType> STREAMING_TYPES = List.of(
+            MediaType.TEXT_EVENT_STREAM,
+            MediaType.APPLICATION_NDJSON,
+            MediaType.APPLICATION_OCTET_STREAM);
+
+    private final int maxCaptureSize;
+    private ByteArrayOutputStream captured;
+    private long totalSize;
+    private Boolean capturing;
+    private ServletOutputStream outputStream;
+    private PrintWriter writer;
+
+    TeeResponseWrapper(HttpServletResponse response, int maxCaptureSize) {
+        super(response);
+        this.maxCaptureSize = maxCaptureSize;
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (writer != null) {
+            throw new IllegalStateException("getWriter() has already been called on this response");
+        }
+        if (outputStream == null) {
+            outputStream = new TeeOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            if (outputStream != null) {
+                throw new IllegalStateException("getOutputStream() has already been called on this response");
+            }
+            outputStream = new TeeOutputStream(super.getOutputStream());
+            writer = new PrintWriter(new OutputStreamWriter(outputStream, Charset.forName(getCharacterEncoding())));
+        }
+        return writer;
+    }
+
+    @Override
+    public void flushBuffer() throws IOException {
+        if (writer != null) {
+            writer.flush();
+        }
+        super.flushBuffer();
+    }
+
+    @Override
+    public void resetBuffer() {
+        super.resetBuffer();
+        discardCaptured();
+    }
+
+    /**
+     * Headers are reset too, so whether to capture is decided again from the new ones
+     */
+    @Override
+    public void reset() {
+        super.reset();
+        discardCaptured();
+        capturing = null;
+    }
+
+    /**
+     * Flushes characters still buffered in the writer through to the response. The container only
+     * flushes its own writer, so this must be called once the filter chain has returned.
+     */
+    void flushWriter() {
+        if (writer != null) {
+            writer.flush();
+        }
+    }
+
+    /**
+     * Captured bytes, empty when the body was not captured
+     */
+    byte[] getCapturedBody() {
+        return captured != null ? captured.toByteArray() : new byte[0];
+    }
+
+    /**
+     * Total bytes written to the response, captured or not
+     */
+    long getTotalSize() {
+        return totalSize;
+    }
+
+    boolean isTruncated() {
+        return captured != null && totalSize > captured.size();
+    }
+
+    private void discardCaptured() {
+        captured = null;
+        totalSize = 0;
+    }
+
+    private boolean isCapturing() {
+        if (capturing == null) {
+            capturing = maxCaptureSize > 0 && getHeader(HttpHeaders.CONTENT_ENCODING) == null && !isStreaming();
+        }
+        return capturing;
+    }
+
+    private boolean isStreaming() {
+        String contentType = getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        try {
+            MediaType mediaType = MediaType.parseMediaType(contentType);
+            return STREAMING_TYPES.stream().anyMatch(mediaType::isCompatibleWith);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private void capture(int b) {
+        totalSize++;
+        ByteArrayOutputStream buffer = captureBuffer(1);
+        if (buffer != null && buffer.size() < maxCaptureSize) {
+            buffer.write(b);
+        }
+    }
+
+    private void capture(byte[] bytes, int offset, int length) {
+        totalSize += length;
+        ByteArrayOutputStream buffer = captureBuffer(length);
+        if (buffer != null) {
+            int remaining = maxCaptureSize - buffer.size();
+            if (remaining > 0) {
+                buffer.write(bytes, offset, Math.min(remaining, length));
+            }
+        }
+    }
+
+    private ByteArrayOutputStream captureBuffer(int sizeHint) {
+        if (!isCapturing()) {
+            return null;
+        }
+        if (captured == null) {
+            captured = new ByteArrayOutputStream(Math.min(maxCaptureSize, Math.max(sizeHint, 256)));
+        }
+        return captured;
+    }
+
+    private final class TeeOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+
+        private TeeOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            capture(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            delegate.write(b, off, len);
+            capture(b, off, len);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+    }
+}
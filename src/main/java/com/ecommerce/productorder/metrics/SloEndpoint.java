@@ -0,0 +1,129 @@
+package com.ecommerce.productorder.metrics;
+
+import com.ecommerce.productorder.config.SloProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /actuator/slo}: error budget burn per HTTP route since startup, from the {@code http.server.requests}
+ * timers. A request counts against the budget when it ends in a server error or takes longer than the
+ * route's latency threshold. Windowed burn rates are left to Prometheus, which scrapes the same buckets.
+ */
+@Component
+@Endpoint(id = "slo")
+@RequiredArgsConstructor
+public class SloEndpoint {
+
+    private static final String HTTP_SERVER_REQUESTS = "http.server.requests";
+    private static final String SERVER_ERROR = "SERVER_ERROR";
+
+    private final MeterRegistry meterRegistry;
+    private final SloProperties sloProperties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @ReadOperation
+    public Map<String, Object> slo() {
+        Map<String, RouteBudget> routes = new TreeMap<>();
+        for (Timer timer : meterRegistry.find(HTTP_SERVER_REQUESTS).timers()) {
+            String uri = timer.getId().getTag("uri");
+            if (uri == null || uri.equals("UNKNOWN") || uri.startsWith("/actuator")) {
+                continue;
+            }
+            String route = timer.getId().getTag("method") + " " + uri;
+            routes.computeIfAbsent(route, key -> new RouteBudget(objectiveFor(uri))).add(timer);
+        }
+
+        List<Map<String, Object>> result = new ArrayList<>(routes.size());
+        routes.forEach((route, budget) -> result.add(budget.toMap(route)));
+        return Map.of("routes", result);
+    }
+
+    private SloProperties.Objective objectiveFor(String uri) {
+        for (Map.Entry<String, SloProperties.Objective> route : sloProperties.getRoutes().entrySet()) {
+            if (pathMatcher.match(route.getKey(), uri)) {
+                return route.getValue();
+            }
+        }
+        return sloProperties.getDefaults();
+    }
+
+    private static final class RouteBudget {
+
+        private final SloProperties.Objective objective;
+        private final Map<String, Map<String, Object>> outcomes = new TreeMap<>();
+        private long requests;
+        private long serverErrors;
+        private long slowRequests;
+
+        private RouteBudget(SloProperties.Objective objective) {
+            this.objective = objective;
+        }
+
+        private void add(Timer timer) {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            String outcome = timer.getId().getTag("outcome");
+            long count = snapshot.count();
+            requests += count;
+            if (SERVER_ERROR.equals(outcome)) {
+                serverErrors += count;
+            } else {
+                slowRequests += count - countWithinThreshold(snapshot);
+            }
+
+            String key = outcome + " " + timer.getId().getTag("status");
+            Map<String, Object> summary = new LinkedHashMap<>();
+            summary.put("count", count);
+            for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+                summary.put("p" + Math.round(percentile.percentile() * 100) + "Ms", percentile.value(TimeUnit.MILLISECONDS));
+            }
+            summary.put("maxMs", snapshot.max(TimeUnit.MILLISECONDS));
+            outcomes.put(key, summary);
+        }
+
+        /**
+         * Requests at or under the latency threshold, read from the SLO bucket added in MetricsConfig
+         */
+        private long countWithinThreshold(HistogramSnapshot snapshot) {
+            double threshold = objective.getLatencyThreshold().toNanos();
+            for (CountAtBucket bucket : snapshot.histogramCounts()) {
+                if (bucket.bucket() >= threshold) {
+                    return (long) bucket.count();
+                }
+            }
+            return snapshot.count();
+        }
+
+        private Map<String, Object> toMap(String route) {
+            long badRequests = serverErrors + slowRequests;
+            double allowed = requests * (1 - objective.getTarget());
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("route", route);
+            result.put("latencyThresholdMs", objective.getLatencyThreshold().toMillis());
+            result.put("target", objective.getTarget());
+            result.put("requests", requests);
+            result.put("serverErrors", serverErrors);
+            result.put("slowRequests", slowRequests);
+            result.put("attainment", requests == 0 ? 1.0 : (double) (requests - badRequests) / requests);
+            // Share of the error budget used; above 1.0 the objective is missed
+            result.put("errorBudgetConsumed", allowed > 0 ? badRequests / allowed : (badRequests > 0 ? null : 0.0));
+            result.put("outcomes", outcomes);
+            return result;
+        }
+    }
+}
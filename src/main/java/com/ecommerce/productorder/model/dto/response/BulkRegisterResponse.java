@@ -0,0 +1,35 @@
+package com.ecommerce.productorder.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BulkRegisterResponse {
+
+    private int created;
+    private int failed;
+    private List<Result> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Result {
+
+        /**
+         * Position of the row in the request
+         */
+        private int index;
+        private String username;
+        private Long userId;
+        private boolean created;
+        private String error;
+    }
+}
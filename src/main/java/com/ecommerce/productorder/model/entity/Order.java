@@ -15,6 +15,7 @@ import java.util.List;
 @Builder
 @Entity
 @Table(name = "orders")
+@SequenceGenerator(name = BaseEntity.ID_GENERATOR, sequenceName = "orders_seq", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
 @AllArgsConstructor
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
@@ -25,6 +26,7 @@ public class Order extends BaseEntity {
     @NotNull
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @ToString.Exclude
     private User user;
 
     @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
@@ -12,6 +12,7 @@ import java.math.BigDecimal;
 @Builder
 @Entity
 @Table(name = "order_items")
+@SequenceGenerator(name = BaseEntity.ID_GENERATOR, sequenceName = "order_items_seq", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
 @AllArgsConstructor
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
@@ -21,11 +22,14 @@ public class OrderItem extends BaseEntity {
     @NotNull
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "order_id", nullable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Order order;
 
     @NotNull
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "product_id", nullable = false)
+    @ToString.Exclude
     private Product product;
 
     @NotNull
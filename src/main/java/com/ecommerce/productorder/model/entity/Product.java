@@ -1,14 +1,18 @@
 package com.ecommerce.productorder.model.entity;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EntityListeners;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.PositiveOrZero;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -19,13 +23,21 @@ import java.math.BigDecimal;
 @Builder
 @Entity
 @Table(name = "products")
+@SequenceGenerator(name = BaseEntity.ID_GENERATOR, sequenceName = "products_seq", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
 @AllArgsConstructor
 @NoArgsConstructor
 @EqualsAndHashCode(callSuper = true)
 @SQLDelete(sql = "UPDATE products SET deleted = true WHERE id = ?")
 @Where(clause = "deleted=false")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Product.CACHE_REGION)
 public class Product extends BaseEntity {
 
+    /**
+     * Second-level cache region, see ehcache.xml. A soft delete removes the entry like any delete
+     */
+    public static final String CACHE_REGION = "product-entities";
+
     @NotBlank
     @Column(nullable = false)
     private String name;
@@ -0,0 +1,28 @@
+package com.ecommerce.productorder.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("productorder.CacheLookup")
+@Label("Cache Lookup")
+@Description("Read from the remote cache, or from the local fallback store while its circuit breaker is open")
+@Category({"Product Order", "Cache"})
+@Threshold("1 ms")
+@StackTrace(false)
+public class CacheLookupEvent extends Event {
+
+    @Label("Cache")
+    public String cache;
+
+    @Label("Hit")
+    public boolean hit;
+
+    @Label("Fallback")
+    @Description("Answered from the local fallback store")
+    public boolean fallback;
+}
@@ -0,0 +1,113 @@
+package com.ecommerce.productorder.profiling;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * {@code /actuator/jfr}: Java Flight Recorder sessions on demand, restricted to admins in {@code SecurityConfig}.
+ * <ul>
+ *   <li>{@code GET /actuator/jfr} lists recordings</li>
+ *   <li>{@code POST /actuator/jfr} with {@code {"preset": "CPU", "duration": "60s"}} starts one
+ *       ({@code CPU}, {@code ALLOCATION}, {@code LOCKS} or {@code VIRTUAL_THREADS})</li>
+ *   <li>{@code POST /actuator/jfr/{id}} stops it early</li>
+ *   <li>{@code GET /actuator/jfr/{id}} downloads what has been recorded, also while running</li>
+ *   <li>{@code DELETE /actuator/jfr/{id}} discards it</li>
+ * </ul>
+ */
+@Component
+@WebEndpoint(id = "jfr")
+@RequiredArgsConstructor
+public class JfrEndpoint {
+
+    private static final String JFR_CONTENT_TYPE = "application/octet-stream";
+
+    private final JfrRecordings jfrRecordings;
+
+    @ReadOperation
+    public List<JfrRecordings.RecordingInfo> recordings() {
+        return jfrRecordings.list();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> start(String preset, @Nullable Duration duration) {
+        JfrPreset jfrPreset;
+        try {
+            jfrPreset = JfrPreset.valueOf(preset.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(Map.of("error", "Unknown preset: " + preset), WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+        try {
+            return new WebEndpointResponse<>(jfrRecordings.start(jfrPreset, duration));
+        } catch (IllegalStateException e) {
+            return new WebEndpointResponse<>(Map.of("error", e.getMessage()), 409);
+        }
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<JfrRecordings.RecordingInfo> stop(@Selector long id) {
+        JfrRecordings.RecordingInfo info = jfrRecordings.stop(id);
+        return info != null ? new WebEndpointResponse<>(info) : new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+
+    @ReadOperation(produces = JFR_CONTENT_TYPE)
+    public WebEndpointResponse<Resource> download(@Selector long id) throws IOException {
+        Path file = jfrRecordings.dump(id);
+        return file != null ? new WebEndpointResponse<>(new TemporaryFileResource(file))
+                : new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Void> delete(@Selector long id) {
+        return new WebEndpointResponse<>(jfrRecordings.delete(id)
+                ? WebEndpointResponse.STATUS_NO_CONTENT : WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+
+    /**
+     * Dumped recording that is deleted once it has been streamed to the client
+     */
+    private static final class TemporaryFileResource extends FileSystemResource {
+
+        private TemporaryFileResource(Path file) {
+            super(file);
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return new FilterInputStream(super.getInputStream()) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        Files.deleteIfExists(getFile().toPath());
+                    }
+                }
+            };
+        }
+
+        @Override
+        public boolean isFile() {
+            // Streamed through getInputStream so the file is deleted afterwards
+            return false;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.ecommerce.productorder.profiling;
+
+import jdk.jfr.Configuration;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Recording settings: the JDK's low overhead "default" configuration plus the events each kind of
+ * investigation needs. The application events are enabled in every preset.
+ */
+public enum JfrPreset {
+
+    /**
+     * Method sampling every 10 ms, for hot code paths
+     */
+    CPU(Map.of(
+            "jdk.ExecutionSample#enabled", "true",
+            "jdk.ExecutionSample#period", "10 ms",
+            "jdk.NativeMethodSample#enabled", "true",
+            "jdk.NativeMethodSample#period", "20 ms")),
+
+    /**
+     * Sampled allocations and objects surviving long enough to be leak candidates
+     */
+    ALLOCATION(Map.of(
+            "jdk.ObjectAllocationSample#enabled", "true",
+            "jdk.ObjectAllocationSample#throttle", "300/s",
+            "jdk.OldObjectSample#enabled", "true",
+            "jdk.OldObjectSample#stackTrace", "true")),
+
+    /**
+     * Contended monitors, waits and parks of at least 1 ms
+     */
+    LOCKS(Map.of(
+            "jdk.JavaMonitorEnter#enabled", "true",
+            "jdk.JavaMonitorEnter#threshold", "1 ms",
+            "jdk.JavaMonitorWait#enabled", "true",
+            "jdk.JavaMonitorWait#threshold", "1 ms",
+            "jdk.ThreadPark#enabled", "true",
+            "jdk.ThreadPark#threshold", "1 ms")),
+
+    /**
+     * Virtual threads pinned to their carrier for at least 1 ms, and failed virtual thread starts. Java 21+
+     */
+    VIRTUAL_THREADS(Map.of(
+            "jdk.VirtualThreadPinned#enabled", "true",
+            "jdk.VirtualThreadPinned#stackTrace", "true",
+            "jdk.VirtualThreadPinned#threshold", "1 ms",
+            "jdk.VirtualThreadSubmitFailed#enabled", "true",
+            "jdk.JavaMonitorEnter#enabled", "true",
+            "jdk.JavaMonitorEnter#threshold", "1 ms"));
+
+    private static final String BASE_CONFIGURATION = "default";
+
+    private final Map<String, String> overrides;
+
+    JfrPreset(Map<String, String> overrides) {
+        this.overrides = overrides;
+    }
+
+    public Map<String, String> settings() {
+        try {
+            Map<String, String> settings = new HashMap<>(Configuration.getConfiguration(BASE_CONFIGURATION).getSettings());
+            settings.putAll(overrides);
+            return settings;
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("JFR configuration '" + BASE_CONFIGURATION + "' is not available", e);
+        }
+    }
+}
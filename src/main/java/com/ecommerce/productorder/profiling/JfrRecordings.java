@@ -0,0 +1,146 @@
+package com.ecommerce.productorder.profiling;
+
+import com.ecommerce.productorder.config.ProfilingProperties;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Flight recordings started on demand. At most one recording runs at a time; each is limited in
+ * duration and size, and only the most recent finished recordings are kept for download.
+ */
+@Component
+@Slf4j
+public class JfrRecordings {
+
+    private final ProfilingProperties properties;
+    private final Map<Long, Recording> recordings = new LinkedHashMap<>();
+    private final Map<Long, JfrPreset> presets = new LinkedHashMap<>();
+
+    public JfrRecordings(ProfilingProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * @param size bytes recorded so far
+     */
+    public record RecordingInfo(long id, JfrPreset preset, RecordingState state, Instant startTime,
+                                Duration duration, long size) {
+    }
+
+    /**
+     * Starts a recording with the given preset, capping the duration at the configured maximum
+     *
+     * @throws IllegalStateException if a recording is already running
+     */
+    public synchronized RecordingInfo start(JfrPreset preset, Duration duration) {
+        if (recordings.values().stream().anyMatch(JfrRecordings::isActive)) {
+            throw new IllegalStateException("A recording is already running");
+        }
+        evictFinished(properties.getMaxRetained() - 1);
+
+        Duration requested = duration != null && !duration.isNegative() && !duration.isZero()
+                ? duration : properties.getDefaultDuration();
+        Recording recording = new Recording(preset.settings());
+        recording.setName("productorder-" + preset.name().toLowerCase());
+        recording.setToDisk(true);
+        recording.setDuration(requested.compareTo(properties.getMaxDuration()) > 0 ? properties.getMaxDuration() : requested);
+        recording.setMaxSize(properties.getMaxSize().toBytes());
+        recording.start();
+
+        recordings.put(recording.getId(), recording);
+        presets.put(recording.getId(), preset);
+        log.info("Started {} flight recording {} for {}", preset, recording.getId(), recording.getDuration());
+        return info(recording);
+    }
+
+    public synchronized List<RecordingInfo> list() {
+        List<RecordingInfo> result = new ArrayList<>(recordings.size());
+        recordings.values().forEach(recording -> result.add(info(recording)));
+        return result;
+    }
+
+    /**
+     * Stops a running recording early; returns null for an unknown id
+     */
+    public synchronized RecordingInfo stop(long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return null;
+        }
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+            log.info("Stopped flight recording {}", id);
+        }
+        return info(recording);
+    }
+
+    /**
+     * Writes the data recorded so far to a new temporary file, which the caller deletes; returns null for an unknown id
+     */
+    public synchronized Path dump(long id) throws IOException {
+        Recording recording = recordings.get(id);
+        if (recording == null || recording.getState() == RecordingState.NEW) {
+            return null;
+        }
+        Path file = Files.createTempFile("productorder-" + id + "-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return file;
+    }
+
+    /**
+     * Stops the recording if needed and discards its data; returns false for an unknown id
+     */
+    public synchronized boolean delete(long id) {
+        Recording recording = recordings.remove(id);
+        presets.remove(id);
+        if (recording == null) {
+            return false;
+        }
+        recording.close();
+        return true;
+    }
+
+    @PreDestroy
+    synchronized void closeAll() {
+        recordings.values().forEach(Recording::close);
+        recordings.clear();
+        presets.clear();
+    }
+
+    private void evictFinished(int keep) {
+        List<Long> finished = recordings.entrySet().stream()
+                .filter(entry -> !isActive(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .toList();
+        for (int i = 0; i < finished.size() - Math.max(0, keep); i++) {
+            delete(finished.get(i));
+        }
+    }
+
+    private RecordingInfo info(Recording recording) {
+        return new RecordingInfo(recording.getId(), presets.get(recording.getId()), recording.getState(),
+                recording.getStartTime(), recording.getDuration(), recording.getSize());
+    }
+
+    private static boolean isActive(Recording recording) {
+        return recording.getState() == RecordingState.RUNNING || recording.getState() == RecordingState.DELAYED;
+    }
+}
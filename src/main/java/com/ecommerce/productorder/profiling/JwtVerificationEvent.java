@@ -0,0 +1,24 @@
+package com.ecommerce.productorder.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("productorder.JwtVerification")
+@Label("JWT Verification")
+@Description("Signature and expiry check of a bearer token, or a hit in the verified token cache")
+@Category({"Product Order", "Security"})
+@Threshold("1 ms")
+@StackTrace(false)
+public class JwtVerificationEvent extends Event {
+
+    @Label("Cached")
+    public boolean cached;
+
+    @Label("Valid")
+    public boolean valid;
+}
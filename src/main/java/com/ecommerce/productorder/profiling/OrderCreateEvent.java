@@ -0,0 +1,25 @@
+package com.ecommerce.productorder.profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("productorder.OrderCreate")
+@Label("Create Order")
+@Description("Placing an order, from stock checks to the saved order")
+@Category({"Product Order", "Orders"})
+@StackTrace(false)
+public class OrderCreateEvent extends Event {
+
+    @Label("Items")
+    public int items;
+
+    @Label("Order Id")
+    public long orderId;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -1,9 +1,19 @@
 package com.ecommerce.productorder.repository;
 
 import com.ecommerce.productorder.model.entity.OrderItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    @Query("SELECT p.id FROM OrderItem oi JOIN oi.product p WHERE oi.createdAt >= :since AND p.deleted = false " +
+            "GROUP BY p.id ORDER BY SUM(oi.quantity) DESC")
+    List<Long> findTopOrderedProductIds(@Param("since") LocalDateTime since, Pageable pageable);
 }
@@ -1,18 +1,51 @@
 package com.ecommerce.productorder.repository;
 
 import com.ecommerce.productorder.model.entity.Product;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long> {
 
+    /**
+     * Listing and search pages do not fill the second-level cache: they may be read from a lagging replica,
+     * and would crowd out the products read by id when placing orders
+     */
+    String CACHE_STORE_MODE = "jakarta.persistence.cache.storeMode";
+
     Optional<Product> findById(Long id);
 
+    /**
+     * Reads the product row from the database, never from the second-level cache, which may hold a quantity
+     * or price changed since through another instance
+     */
+    @Query("SELECT p FROM Product p WHERE p.id = :id")
+    Optional<Product> findCurrentById(Long id);
+
+    /**
+     * Takes the quantity off the stock in one statement, so concurrent orders cannot both take the last units.
+     * Hibernate drops the product entries from the second-level cache afterwards.
+     *
+     * @return 1 when the stock was sufficient, 0 when it was not or the product does not exist
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.quantity = p.quantity - :quantity, p.updatedAt = :updatedAt, "
+            + "p.updatedById = :updatedById WHERE p.id = :id AND p.quantity >= :quantity AND p.deleted = false")
+    int decreaseQuantity(Long id, int quantity, LocalDateTime updatedAt, Long updatedById);
+
+    @QueryHints(@QueryHint(name = CACHE_STORE_MODE, value = "BYPASS"))
+    Page<Product> findAll(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = CACHE_STORE_MODE, value = "BYPASS"))
     Page<Product> findAll(Specification<Product> spec, Pageable pageable);
 }
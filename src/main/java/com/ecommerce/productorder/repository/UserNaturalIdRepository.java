@@ -0,0 +1,14 @@
+package com.ecommerce.productorder.repository;
+
+import com.ecommerce.productorder.model.entity.User;
+
+import java.util.Optional;
+
+/**
+ * Lookups by the username natural id, served from the natural-id and entity caches when possible. Changes made
+ * through another instance may take up to the region time-to-live to show, so authentication does not use them.
+ */
+public interface UserNaturalIdRepository {
+
+    Optional<User> findByUsername(String username);
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.productorder.repository;
+
+import com.ecommerce.productorder.model.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+
+import java.util.Optional;
+
+/**
+ * A derived query would always hit the database; a natural id load resolves the username to an id through
+ * the natural-id cache and then reads the user from the entity cache
+ */
+class UserNaturalIdRepositoryImpl implements UserNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<User> findByUsername(String username) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(User.class).loadOptional(username);
+    }
+}
@@ -1,17 +1,54 @@
 package com.ecommerce.productorder.repository;
 
 import com.ecommerce.productorder.model.entity.User;
+import com.ecommerce.productorder.repository.projection.UserIdentity;
+import com.ecommerce.productorder.repository.projection.UserSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserNaturalIdRepository {
 
-    Optional<User> findByUsername(String username);
+    /**
+     * Reads the user row from the database, never from the second-level or natural-id cache, which may hold
+     * an enabled flag, password or token version changed since through another instance. Used to authenticate.
+     */
+    @Query("SELECT u FROM User u WHERE u.username = :username")
+    Optional<User> findCurrentByUsername(@Param("username") String username);
 
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
+
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    Set<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT u.id AS id, u.username AS username FROM User u WHERE u.username IN :usernames")
+    List<UserIdentity> findIdentitiesByUsernameIn(@Param("usernames") Collection<String> usernames);
+
+    @Query("SELECT new com.ecommerce.productorder.repository.projection.UserSummary(u.id, u.username, u.role) "
+            + "FROM User u WHERE u.id IN :ids")
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id AND u.enabled = true")
+    Optional<Integer> findActiveTokenVersion(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE User u SET u.enabled = false WHERE u.id = :id")
+    int disable(@Param("id") Long id);
 }
@@ -0,0 +1,11 @@
+package com.ecommerce.productorder.repository.projection;
+
+/**
+ * Id of a user looked up by username
+ */
+public interface UserIdentity {
+
+    Long getId();
+
+    String getUsername();
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.productorder.repository.projection;
+
+import com.ecommerce.productorder.model.enums.UserRole;
+
+/**
+ * Immutable identity of a user, small enough to cache and to render in responses
+ */
+public record UserSummary(Long id, String username, UserRole role) {
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.productorder.security;
+
+import com.ecommerce.productorder.config.BulkRegistrationProperties;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashes many passwords in parallel on a bounded pool of its own, so bulk registration
+ * neither runs hashing serially nor competes with the login pool. When every thread is busy
+ * the caller hashes on its own thread, which bounds the work in flight.
+ */
+@Component
+public class BulkPasswordEncoder {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+
+    public BulkPasswordEncoder(PasswordEncoder passwordEncoder, BulkRegistrationProperties properties) {
+        this.passwordEncoder = passwordEncoder;
+        this.executor = new ThreadPoolExecutor(properties.getHashingThreads(), properties.getHashingThreads(),
+                0L, TimeUnit.MILLISECONDS, new SynchronousQueue<>(),
+                new CustomizableThreadFactory("password-hashing-"), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Encoded passwords in the order of the given raw passwords
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<CompletableFuture<String>> futures = new ArrayList<>(rawPasswords.size());
+        for (String rawPassword : rawPasswords) {
+            futures.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(rawPassword), executor));
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -1,5 +1,8 @@
 package com.ecommerce.productorder.security;
 
+import com.ecommerce.productorder.model.entity.User;
+import com.ecommerce.productorder.model.enums.UserRole;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,6 +27,8 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final TokenVersionService tokenVersionService;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     protected void doFilterInternal(
@@ -34,23 +39,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = getJwtFromRequest(request);
 
-            if (StringUtils.hasText(jwt)) {
-                String username = jwtUtil.extractUsername(jwt);
+            if (StringUtils.hasText(jwt) && SecurityContextHolder.getContext().getAuthentication() == null) {
+                Claims claims = jwtUtil.extractAllClaims(jwt);
+                UserDetails userDetails = loadUser(claims);
 
-                if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-                    if (jwtUtil.validateToken(jwt, userDetails)) {
-                        UsernamePasswordAuthenticationToken authentication =
-                                new UsernamePasswordAuthenticationToken(
-                                        userDetails,
-                                        null,
-                                        userDetails.getAuthorities()
-                                );
-                        authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                        SecurityContextHolder.getContext().setAuthentication(authentication);
-                        log.debug("Set authentication for user: {}", username);
-                    }
+                if (userDetails != null) {
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    userDetails,
+                                    null,
+                                    userDetails.getAuthorities()
+                            );
+                    authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authentication);
+                    log.debug("Set authentication for user: {}", userDetails.getUsername());
                 }
             }
         } catch (Exception ex) {
@@ -60,6 +62,49 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Principal for verified claims. In stateless mode it is built from the uid, role and ver claims
+     * and only the cached token version is checked; tokens without these claims fall back to a user lookup.
+     * Individually revoked token ids are rejected in either mode.
+     */
+    private UserDetails loadUser(Claims claims) {
+        String username = claims.getSubject();
+        if (username == null) {
+            return null;
+        }
+
+        String tokenId = claims.getId();
+        if (tokenId != null && tokenRevocationService.isRevoked(tokenId)) {
+            log.debug("Rejected revoked token {} of user: {}", tokenId, username);
+            return null;
+        }
+
+        Long userId = claims.get(JwtUtil.CLAIM_USER_ID, Long.class);
+        String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+        Integer tokenVersion = claims.get(JwtUtil.CLAIM_TOKEN_VERSION, Integer.class);
+        if (!jwtUtil.isStatelessAuthentication() || userId == null || role == null || tokenVersion == null) {
+            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+            return userDetails.isEnabled() && isCurrentVersion(userDetails, tokenVersion) ? userDetails : null;
+        }
+
+        if (!tokenVersion.equals(tokenVersionService.getTokenVersion(userId))) {
+            log.debug("Rejected revoked token of user: {}", username);
+            return null;
+        }
+
+        return User.builder()
+                .id(userId)
+                .username(username)
+                .role(UserRole.valueOf(role))
+                .enabled(true)
+                .tokenVersion(tokenVersion)
+                .build();
+    }
+
+    private static boolean isCurrentVersion(UserDetails userDetails, Integer tokenVersion) {
+        return tokenVersion == null || !(userDetails instanceof User user) || tokenVersion.equals(user.getTokenVersion());
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith("Bearer ")) {
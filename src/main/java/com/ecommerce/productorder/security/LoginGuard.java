@@ -0,0 +1,140 @@
+package com.ecommerce.productorder.security;
+
+import com.ecommerce.productorder.config.LoginProtectionProperties;
+import com.ecommerce.productorder.exception.ServiceUnavailableException;
+import com.ecommerce.productorder.exception.TooManyRequestsException;
+import com.ecommerce.productorder.model.entity.User;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Bounds the CPU spent on password hashing. Login attempts are throttled per client address and
+ * per username before any hashing. Password verification runs on a small bounded
+ * pool, so no more BCrypt checks run at once than it has threads; the request thread still waits
+ * for its result. When the queue is full, logins are rejected instead of piling up.
+ */
+@Component
+@Slf4j
+public class LoginGuard {
+
+    private static final long RETRY_AFTER_BUSY_SECONDS = 1;
+
+    private final AuthenticationManager authenticationManager;
+    private final LoginProtectionProperties properties;
+    private final TokenBucketLimiter clientAddressLimiter;
+    private final TokenBucketLimiter usernameLimiter;
+    private final ThreadPoolExecutor executor;
+    private final Timer verificationTimer;
+    private final MeterRegistry meterRegistry;
+
+    public LoginGuard(AuthenticationManager authenticationManager, LoginProtectionProperties properties,
+                      MeterRegistry meterRegistry) {
+        this.authenticationManager = authenticationManager;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clientAddressLimiter = new TokenBucketLimiter(properties.getClientAddress().getCapacity(),
+                properties.getClientAddress().getRefillInterval(), properties.getMaxTrackedKeys());
+        this.usernameLimiter = new TokenBucketLimiter(properties.getUsername().getCapacity(),
+                properties.getUsername().getRefillInterval(), properties.getMaxTrackedKeys());
+
+        LoginProtectionProperties.Executor executorProperties = properties.getExecutor();
+        this.executor = new ThreadPoolExecutor(executorProperties.getThreads(), executorProperties.getThreads(),
+                0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(executorProperties.getQueueCapacity()),
+                new CustomizableThreadFactory("login-"), new ThreadPoolExecutor.AbortPolicy());
+
+        this.verificationTimer = Timer.builder("login.password.verification")
+                .description("Time spent verifying login passwords on the login pool")
+                .register(meterRegistry);
+        Gauge.builder("login.executor.queue.depth", executor, e -> e.getQueue().size())
+                .description("Logins waiting for a password verification thread")
+                .register(meterRegistry);
+        Gauge.builder("login.executor.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password verifications in progress")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Authenticates the credentials on the login pool, waiting for the result. Every attempt is charged
+     * to the client address and, before it is verified, to the username, so parallel guesses for one
+     * username are throttled too. The username token is given back when the login succeeds or is never
+     * verified, so that a user who logs in often is not locked out, while guessing a password is.
+     *
+     * @throws TooManyRequestsException    when the client address or username is over its limit
+     * @throws ServiceUnavailableException when the login pool is saturated or verification times out
+     */
+    public User authenticate(String username, String password, String clientAddress) {
+        throttle(clientAddressLimiter.tryAcquire(clientAddress), clientAddress, "client_address");
+        String usernameKey = username.toLowerCase(Locale.ROOT);
+        throttle(usernameLimiter.tryAcquire(usernameKey), usernameKey, "username");
+
+        Future<Authentication> result;
+        try {
+            result = executor.submit(() -> verificationTimer.recordCallable(() -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(username, password))));
+        } catch (RejectedExecutionException e) {
+            usernameLimiter.refund(usernameKey);
+            reject("queue_full");
+            throw new ServiceUnavailableException("Login service is busy, please retry", RETRY_AFTER_BUSY_SECONDS);
+        }
+
+        try {
+            Authentication authentication = result.get(properties.getExecutor().getTimeout().toMillis(),
+                    TimeUnit.MILLISECONDS);
+            usernameLimiter.refund(usernameKey);
+            return (User) authentication.getPrincipal();
+        } catch (TimeoutException e) {
+            result.cancel(true);
+            reject("timeout");
+            throw new ServiceUnavailableException("Login timed out, please retry", RETRY_AFTER_BUSY_SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Password verification failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            result.cancel(true);
+            throw new ServiceUnavailableException("Login interrupted, please retry", RETRY_AFTER_BUSY_SECONDS);
+        }
+    }
+
+    private void throttle(long waitNanos, String key, String reason) {
+        if (waitNanos > 0) {
+            reject(reason + "_throttled");
+            log.warn("Login attempt throttled by {}: {}", reason, key);
+            throw new TooManyRequestsException("Too many login attempts, please retry later",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+    }
+
+    private void reject(String reason) {
+        Counter.builder("login.rejected")
+                .description("Login attempts rejected before password verification completed")
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
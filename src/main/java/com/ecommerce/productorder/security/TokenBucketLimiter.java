@@ -0,0 +1,92 @@
+package com.ecommerce.productorder.security;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Token buckets keyed by an arbitrary string, bounded to the most recently seen keys
+ */
+class TokenBucketLimiter {
+
+    private final int capacity;
+    private final long refillNanos;
+    private final Map<String, Bucket> buckets;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    TokenBucketLimiter(int capacity, Duration refillInterval, int maxKeys) {
+        this.capacity = capacity;
+        this.refillNanos = refillInterval.toNanos();
+        this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Bucket> eldest) {
+                return size() > maxKeys;
+            }
+        };
+    }
+
+    /**
+     * Takes one token for the key.
+     *
+     * @return 0 when a token was taken, otherwise the nanoseconds until the next token is available
+     */
+    long tryAcquire(String key) {
+        lock.lock();
+        try {
+            long now = System.nanoTime();
+            Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket(capacity, now));
+            refill(bucket, now);
+
+            if (bucket.tokens > 0) {
+                bucket.tokens--;
+                return 0;
+            }
+            return refillNanos - (now - bucket.updatedAt);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back a token taken with {@link #tryAcquire}, up to the capacity; keys no longer tracked are ignored
+     */
+    void refund(String key) {
+        lock.lock();
+        try {
+            Bucket bucket = buckets.get(key);
+            if (bucket == null) {
+                return;
+            }
+            long now = System.nanoTime();
+            refill(bucket, now);
+            if (bucket.tokens < capacity) {
+                bucket.tokens++;
+                if (bucket.tokens == capacity) {
+                    bucket.updatedAt = now;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void refill(Bucket bucket, long now) {
+        long refilled = (now - bucket.updatedAt) / refillNanos;
+        if (refilled > 0) {
+            bucket.tokens = (int) Math.min(capacity, bucket.tokens + refilled);
+            bucket.updatedAt = bucket.tokens == capacity ? now : bucket.updatedAt + refilled * refillNanos;
+        }
+    }
+
+    private static final class Bucket {
+
+        private int tokens;
+        private long updatedAt;
+
+        private Bucket(int tokens, long updatedAt) {
+            this.tokens = tokens;
+            this.updatedAt = updatedAt;
+        }
+    }
+}
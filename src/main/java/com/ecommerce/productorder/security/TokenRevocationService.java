@@ -0,0 +1,164 @@
+package com.ecommerce.productorder.security;
+
+import com.ecommerce.productorder.bulkhead.Bulkhead;
+import com.ecommerce.productorder.bulkhead.Workload;
+import com.ecommerce.productorder.model.entity.RevokedToken;
+import com.ecommerce.productorder.repository.RevokedTokenRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Revoked token ids (jti), stored in the revoked_tokens table and held in memory as a Bloom filter
+ * plus an exact set. The per-request check touches only memory: the exact set is consulted only
+ * when the Bloom filter reports a possible match.
+ * <p>
+ * Nodes stay in sync through a revision marker in the {@value #CACHE_NAME} cache: a revocation
+ * writes a new revision and every node reloads the list when it sees a different one. The list
+ * is also reloaded after {@code jwt.revocation.max-staleness} in case a marker was lost.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    public static final String CACHE_NAME = "tokenRevocations";
+
+    private static final String REVISION_KEY = "revision";
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+    private static final int MIN_EXPECTED_INSERTIONS = 1024;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final JwtUtil jwtUtil;
+    private final TokenVersionService tokenVersionService;
+    private final CacheManager cacheManager;
+    private final long maxStalenessNanos;
+
+    private volatile Snapshot snapshot = new Snapshot(new BloomFilter(1, FALSE_POSITIVE_PROBABILITY), Set.of(), null, 0);
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository, JwtUtil jwtUtil,
+                                  TokenVersionService tokenVersionService, CacheManager cacheManager,
+                                  @Value("${jwt.revocation.max-staleness:PT5M}") Duration maxStaleness) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.jwtUtil = jwtUtil;
+        this.tokenVersionService = tokenVersionService;
+        this.cacheManager = cacheManager;
+        this.maxStalenessNanos = maxStaleness.toNanos();
+    }
+
+    @PostConstruct
+    void init() {
+        reload(currentRevision());
+    }
+
+    /**
+     * Whether the token id has been revoked. Allocation-free for tokens that are not revoked.
+     */
+    public boolean isRevoked(String jti) {
+        Snapshot current = snapshot;
+        return current.bloomFilter().mightContain(jti) && current.jtis().contains(jti);
+    }
+
+    /**
+     * Revokes a single token until its expiry. The token must still be valid.
+     */
+    @Bulkhead(Workload.ADMIN)
+    public void revokeToken(String token) {
+        Claims claims = jwtUtil.extractAllClaims(token);
+        if (claims.getId() == null) {
+            throw new JwtException("Token has no id and can only be revoked with all tokens of its user");
+        }
+        revoke(claims.getId(), claims.get(JwtUtil.CLAIM_USER_ID, Long.class), claims.getExpiration());
+    }
+
+    /**
+     * Revokes every token issued to the user so far
+     */
+    @Bulkhead(Workload.ADMIN)
+    public void revokeUser(Long userId) {
+        tokenVersionService.revokeTokens(userId);
+    }
+
+    /**
+     * Records the revoked token id and notifies the other nodes
+     */
+    void revoke(String jti, Long userId, Date expiration) {
+        try {
+            revokedTokenRepository.saveAndFlush(RevokedToken.builder()
+                    .jti(jti)
+                    .userId(userId)
+                    .expiresAt(LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault()))
+                    .build());
+            log.info("Revoked token {} of user ID: {}", jti, userId);
+        } catch (DataIntegrityViolationException e) {
+            // The unique jti already holds it, revoked earlier or by a concurrent request
+            log.info("Token {} of user ID: {} was already revoked", jti, userId);
+        }
+
+        String revision = UUID.randomUUID().toString();
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache != null) {
+            cache.put(REVISION_KEY, revision);
+        }
+        reload(revision);
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.sync-interval:PT5S}")
+    public void sync() {
+        try {
+            String revision = currentRevision();
+            Snapshot current = snapshot;
+            if (!Objects.equals(revision, current.revision())
+                    || System.nanoTime() - current.loadedAt() > maxStalenessNanos) {
+                reload(revision);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to sync revoked tokens, keeping the current list: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.revocation.purge-interval:PT1H}")
+    public void purgeExpired() {
+        try {
+            int purged = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+            if (purged > 0) {
+                log.info("Purged {} expired revoked tokens", purged);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to purge expired revoked tokens: {}", e.getMessage());
+        }
+    }
+
+    private String currentRevision() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        return cache != null ? cache.get(REVISION_KEY, String.class) : null;
+    }
+
+    private void reload(String revision) {
+        List<String> jtis = revokedTokenRepository.findActiveJtis(LocalDateTime.now());
+        BloomFilter bloomFilter = new BloomFilter(Math.max(MIN_EXPECTED_INSERTIONS, jtis.size() * 2),
+                FALSE_POSITIVE_PROBABILITY);
+        jtis.forEach(bloomFilter::add);
+        snapshot = new Snapshot(bloomFilter, new HashSet<>(jtis), revision, System.nanoTime());
+        log.debug("Loaded {} revoked tokens at revision {}", jtis.size(), revision);
+    }
+
+    private record Snapshot(BloomFilter bloomFilter, Set<String> jtis, String revision, long loadedAt) {
+    }
+}
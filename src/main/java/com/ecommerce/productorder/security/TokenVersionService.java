@@ -0,0 +1,73 @@
+package com.ecommerce.productorder.security;
+
+import com.ecommerce.productorder.exception.ResourceNotFoundException;
+import com.ecommerce.productorder.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Current token version per user, cached so that stateless authentication does not query
+ * the users table. Tokens carrying an older version are rejected.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenVersionService {
+
+    public static final String CACHE_NAME = "tokenVersions";
+
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+
+    /**
+     * Token version of an enabled user, or null when the user does not exist or is disabled.
+     * Not read-only so that it reads the primary: a version read from a lagging replica right after
+     * {@link #revokeTokens} would be cached and keep the revoked tokens valid.
+     */
+    @Cacheable(value = CACHE_NAME, key = "#userId", unless = "#result == null")
+    @Transactional
+    public Integer getTokenVersion(Long userId) {
+        return userRepository.findActiveTokenVersion(userId).orElse(null);
+    }
+
+    /**
+     * Invalidates every token issued to the user so far
+     */
+    @Transactional
+    public void revokeTokens(Long userId) {
+        log.info("Revoking all tokens of user ID: {}", userId);
+        if (userRepository.incrementTokenVersion(userId) == 0) {
+            throw new ResourceNotFoundException("User", "id", userId);
+        }
+        evictAfterCommit(userId);
+    }
+
+    /**
+     * Drops the cached version of the user once the current transaction commits. Evicting earlier would let a
+     * concurrent lookup cache the old version again before the change is visible. Must be called by every
+     * change to the token version or the enabled flag.
+     */
+    public void evictAfterCommit(Long userId) {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            cache.evict(userId);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                cache.evict(userId);
+            }
+        });
+    }
+}
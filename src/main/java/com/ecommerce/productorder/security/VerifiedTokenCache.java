@@ -0,0 +1,53 @@
+package com.ecommerce.productorder.security;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded map of recently verified tokens to their claims, each kept until the token expires.
+ * Reads are lock-free. When the map is full, expired entries are swept, and if that frees
+ * nothing the map is cleared so memory stays bounded.
+ */
+class VerifiedTokenCache {
+
+    private final int maxEntries;
+    private final Map<String, Claims> entries = new ConcurrentHashMap<>();
+
+    VerifiedTokenCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    Claims get(String token) {
+        Claims claims = entries.get(token);
+        if (claims == null) {
+            return null;
+        }
+        if (isExpired(claims, System.currentTimeMillis())) {
+            entries.remove(token);
+            return null;
+        }
+        return claims;
+    }
+
+    void put(String token, Claims claims) {
+        if (claims.getExpiration() == null) {
+            return;
+        }
+        if (entries.size() >= maxEntries) {
+            long now = System.currentTimeMillis();
+            entries.values().removeIf(cached -> isExpired(cached, now));
+            if (entries.size() >= maxEntries) {
+                entries.clear();
+            }
+        }
+        entries.put(token, claims);
+    }
+
+    private static boolean isExpired(Claims claims, long now) {
+        Date expiration = claims.getExpiration();
+        return expiration == null || expiration.getTime() <= now;
+    }
+}
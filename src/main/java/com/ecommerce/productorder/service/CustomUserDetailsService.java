@@ -1,5 +1,7 @@
 package com.ecommerce.productorder.service;
 
+import com.ecommerce.productorder.bulkhead.Bulkhead;
+import com.ecommerce.productorder.bulkhead.Workload;
 import com.ecommerce.productorder.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,10 +16,16 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
+    /**
+     * Not read-only so that it reads the primary: registering and disabling are done by an admin and open no
+     * read-your-writes window for the user concerned, so a lagging replica would reject a login right after
+     * registration and accept a just-disabled account
+     */
     @Override
-    @Transactional(readOnly = true)
+    @Transactional
+    @Bulkhead(Workload.AUTH)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByUsername(username)
+        return userRepository.findCurrentByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
     }
 }
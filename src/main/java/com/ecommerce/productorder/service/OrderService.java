@@ -5,12 +5,21 @@ import com.ecommerce.productorder.model.dto.response.OrderResponse;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.util.function.Predicate;
+
 public interface OrderService {
 
     OrderResponse createOrder(OrderRequest request);
 
     OrderResponse getOrderById(Long orderId);
 
+    /**
+     * The order, or null when {@code notModified} reports that the caller already holds the version last
+     * updated at the given time
+     */
+    OrderResponse getOrderIfModified(Long orderId, Predicate<LocalDateTime> notModified);
+
     Page<OrderResponse> getUserOrders(Pageable pageable);
 
     Page<OrderResponse> getAllOrders(Pageable pageable);
@@ -24,5 +24,7 @@ public interface ProductService {
 
     Product saveProduct(Product product);
 
+    Product reserveStock(Long id, int quantity);
+
     void deleteProduct(Long id);
 }
@@ -0,0 +1,95 @@
+package com.ecommerce.productorder.service;
+
+import com.ecommerce.productorder.model.entity.User;
+import com.ecommerce.productorder.repository.UserRepository;
+import com.ecommerce.productorder.repository.projection.UserSummary;
+import com.ecommerce.productorder.util.LoggedInUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resolves users by id without loading the entity. Associations get a lazy reference that
+ * only carries the id, and usernames for responses come from the request principal or a
+ * bounded in-memory cache filled in batches, so the order path does not query the users table.
+ */
+@Service
+public class UserDirectory {
+
+    private final UserRepository userRepository;
+    private final Map<Long, UserSummary> summaries;
+    private final ReentrantLock summariesLock = new ReentrantLock();
+
+    public UserDirectory(UserRepository userRepository,
+                         @Value("${users.summary-cache-size:10000}") int summaryCacheSize) {
+        this.userRepository = userRepository;
+        this.summaries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, UserSummary> eldest) {
+                return size() > summaryCacheSize;
+            }
+        };
+    }
+
+    /**
+     * Uninitialized reference to the user for use in associations. Must be called within a transaction.
+     */
+    public User getReference(Long userId) {
+        return userRepository.getReferenceById(userId);
+    }
+
+    /**
+     * Reference to the authenticated user
+     */
+    public User getCurrentUserReference() {
+        return getReference(LoggedInUser.getId());
+    }
+
+    /**
+     * Summaries of the given users, loading the ones not cached with a single query
+     */
+    public Map<Long, UserSummary> getSummaries(Collection<Long> userIds) {
+        Map<Long, UserSummary> result = new HashMap<>();
+        Set<Long> missing = new HashSet<>();
+        summariesLock.lock();
+        try {
+            for (Long userId : userIds) {
+                UserSummary summary = summaries.get(userId);
+                if (summary != null) {
+                    result.put(userId, summary);
+                } else {
+                    missing.add(userId);
+                }
+            }
+        } finally {
+            summariesLock.unlock();
+        }
+
+        LoggedInUser.find().filter(user -> missing.remove(user.getId())).ifPresent(user ->
+                result.put(user.getId(), cache(new UserSummary(user.getId(), user.getUsername(), user.getRole()))));
+
+        if (!missing.isEmpty()) {
+            for (UserSummary summary : userRepository.findSummariesByIdIn(missing)) {
+                result.put(summary.id(), cache(summary));
+            }
+        }
+        return result;
+    }
+
+    private UserSummary cache(UserSummary summary) {
+        summariesLock.lock();
+        try {
+            summaries.put(summary.id(), summary);
+        } finally {
+            summariesLock.unlock();
+        }
+        return summary;
+    }
+}
@@ -1,6 +1,8 @@
 package com.ecommerce.productorder.service;
 
 import com.ecommerce.productorder.model.dto.response.AuthResponse;
+import com.ecommerce.productorder.model.dto.response.BulkRegisterResponse;
+import com.ecommerce.productorder.model.dto.request.BulkRegisterRequest;
 import com.ecommerce.productorder.model.dto.request.LoginRequest;
 import com.ecommerce.productorder.model.dto.request.RegisterRequest;
 import com.ecommerce.productorder.model.entity.User;
@@ -9,7 +11,11 @@ public interface UserService {
 
     AuthResponse register(RegisterRequest request);
 
-    AuthResponse login(LoginRequest request);
+    BulkRegisterResponse bulkRegister(BulkRegisterRequest request);
+
+    AuthResponse login(LoginRequest request, String clientAddress);
 
     User getUserByUsername(String username);
+
+    void disableUser(Long id);
 }
@@ -1,6 +1,7 @@
 package com.ecommerce.productorder.service.discount;
 
 import com.ecommerce.productorder.model.enums.UserRole;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -26,6 +27,7 @@ public class DiscountCalculator {
      * @param userRole   The role of the user placing the order
      * @return The total discount amount to be applied
      */
+    @Timed(value = "discount.calculate", description = "Time to apply all discount strategies to an order")
     public BigDecimal calculateTotalDiscount(BigDecimal orderTotal, UserRole userRole) {
         log.debug("Calculating discount for order total: {} and user role: {}", orderTotal, userRole);
 
@@ -1,6 +1,7 @@
 package com.ecommerce.productorder.service.impl;
 
-import com.ecommerce.productorder.exception.InsufficientStockException;
+import com.ecommerce.productorder.bulkhead.Bulkhead;
+import com.ecommerce.productorder.bulkhead.Workload;
 import com.ecommerce.productorder.exception.ResourceNotFoundException;
 import com.ecommerce.productorder.model.dto.request.OrderItemRequest;
 import com.ecommerce.productorder.model.dto.response.OrderItemResponse;
@@ -10,12 +11,15 @@ import com.ecommerce.productorder.model.entity.Order;
 import com.ecommerce.productorder.model.entity.OrderItem;
 import com.ecommerce.productorder.model.entity.Product;
 import com.ecommerce.productorder.model.entity.User;
+import com.ecommerce.productorder.profiling.OrderCreateEvent;
 import com.ecommerce.productorder.repository.OrderRepository;
+import com.ecommerce.productorder.repository.projection.UserSummary;
 import com.ecommerce.productorder.service.OrderService;
 import com.ecommerce.productorder.service.ProductService;
-import com.ecommerce.productorder.service.UserService;
+import com.ecommerce.productorder.service.UserDirectory;
 import com.ecommerce.productorder.service.discount.DiscountCalculator;
 import com.ecommerce.productorder.util.LoggedInUser;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -24,8 +28,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -36,42 +45,48 @@ public class OrderServiceImpl implements OrderService {
     @Autowired
     private DiscountCalculator discountCalculator;
     @Autowired
-    private UserService userService;
+    private UserDirectory userDirectory;
     @Autowired
     private ProductService productService;
 
     @Transactional
+    @Timed(value = "orders.create", description = "Time to place an order, including discount calculation and stock updates")
+    @Bulkhead(Workload.CHECKOUT)
     public OrderResponse createOrder(OrderRequest request) {
-        String username = LoggedInUser.get().getUsername();
-        log.info("Placing order for user: {}", username);
-        User user = userService.getUserByUsername(username);
-        Order order = buildOrder(user);
-        BigDecimal subtotalPrice = BigDecimal.ZERO;
-
-        for (OrderItemRequest itemRequest : request.getItems()) {
-            Product product = productService.getProduct(itemRequest.getProductId());
-            if (product.getQuantity() < itemRequest.getQuantity()) {
-                throw new InsufficientStockException(product.getName(), itemRequest.getQuantity(), product.getQuantity());
+        // Recorded when a flight recording is running, see JfrEndpoint
+        OrderCreateEvent event = new OrderCreateEvent();
+        event.begin();
+        event.items = request.getItems().size();
+        try {
+            String username = LoggedInUser.get().getUsername();
+            log.info("Placing order for user: {}", username);
+            Order order = buildOrder(userDirectory.getCurrentUserReference());
+            BigDecimal subtotalPrice = BigDecimal.ZERO;
+
+            for (OrderItemRequest itemRequest : request.getItems()) {
+                // Decremented in the database, not on a possibly stale cached entity; throws when out of stock
+                Product product = productService.reserveStock(itemRequest.getProductId(), itemRequest.getQuantity());
+
+                BigDecimal totalPrice = product.getPrice().multiply(BigDecimal.valueOf(itemRequest.getQuantity()));
+                OrderItem orderItem = buildOrderItem(itemRequest, product, totalPrice);
+                order.addItem(orderItem);
+                subtotalPrice = subtotalPrice.add(totalPrice);
             }
 
-            product.decreaseQuantity(itemRequest.getQuantity());
-            productService.saveProduct(product);
+            BigDecimal totalDiscount = discountCalculator.calculateTotalDiscount(subtotalPrice, LoggedInUser.getRole());
+            BigDecimal orderTotal = subtotalPrice.subtract(totalDiscount);
 
-            BigDecimal totalPrice = product.getPrice().multiply(BigDecimal.valueOf(itemRequest.getQuantity()));
-            OrderItem orderItem = buildOrderItem(itemRequest, product, totalPrice);
-            order.addItem(orderItem);
-            subtotalPrice = subtotalPrice.add(totalPrice);
-        }
-
-        BigDecimal totalDiscount = discountCalculator.calculateTotalDiscount(subtotalPrice, user.getRole());
-        BigDecimal orderTotal = subtotalPrice.subtract(totalDiscount);
-
-        order.setTotalDiscount(totalDiscount);
-        order.setOrderTotal(orderTotal);
-        Order savedOrder = orderRepository.save(order);
-        log.info("Order placed successfully with ID: {} for user: {}", savedOrder.getId(), username);
+            order.setTotalDiscount(totalDiscount);
+            order.setOrderTotal(orderTotal);
+            Order savedOrder = orderRepository.save(order);
+            log.info("Order placed successfully with ID: {} for user: {}", savedOrder.getId(), username);
 
-        return mapToResponse(savedOrder);
+            event.orderId = savedOrder.getId();
+            event.succeeded = true;
+            return mapToResponse(savedOrder, userDirectory.getSummaries(List.of(savedOrder.getUser().getId())));
+        } finally {
+            event.commit();
+        }
     }
 
     private OrderItem buildOrderItem(OrderItemRequest itemRequest, Product product, BigDecimal itemTotal) {
@@ -91,45 +106,74 @@ public class OrderServiceImpl implements OrderService {
                 .build();
     }
 
-    @Transactional
+    @Override
+    @Transactional(readOnly = true)
+    @Bulkhead(Workload.CATALOG)
     public OrderResponse getOrderById(Long orderId) {
-        String username = LoggedInUser.get().getUsername();
-        log.debug("Fetching order with ID: {} for user: {}", orderId, username);
+        return getOrderIfModified(orderId, updatedAt -> false);
+    }
+
+    /**
+     * The version is checked on the order row before its items and user are read, so an unchanged order costs
+     * a single query, and the version and the body come from the same load
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @Bulkhead(Workload.CATALOG)
+    public OrderResponse getOrderIfModified(Long orderId, Predicate<LocalDateTime> notModified) {
+        log.debug("Fetching order with ID: {} for user ID: {}", orderId, LoggedInUser.getId());
         Order order = getOrder(orderId);
-        if (!LoggedInUser.isAdmin() && !order.getUser().getUsername().equals(username)) {
+        if (!LoggedInUser.isAdmin() && !order.getUser().getId().equals(LoggedInUser.getId())) {
             throw new ResourceNotFoundException("Order", "id", orderId);
         }
+        if (notModified.test(order.getUpdatedAt())) {
+            return null;
+        }
 
-        return mapToResponse(order);
+        return mapToResponse(order, userDirectory.getSummaries(List.of(order.getUser().getId())));
     }
 
     private Order getOrder(Long orderId) {
         return orderRepository.findById(orderId).orElseThrow(() -> new ResourceNotFoundException("Order", "id", orderId));
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
+    @Bulkhead(Workload.CATALOG)
     public Page<OrderResponse> getUserOrders(Pageable pageable) {
-        String username = LoggedInUser.get().getUsername();
-        log.debug("Fetching orders for user: {}", username);
-        User user = userService.getUserByUsername(username);
+        Long userId = LoggedInUser.getId();
+        log.debug("Fetching orders for user ID: {}", userId);
 
-        return orderRepository.findByUserIdOrderByCreatedAtDesc(user.getId(), pageable)
-                .map(this::mapToResponse);
+        return mapToResponses(orderRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable));
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
+    @Bulkhead(Workload.ADMIN)
     public Page<OrderResponse> getAllOrders(Pageable pageable) {
         log.debug("Fetching all orders");
-        return orderRepository.findAll(pageable).map(this::mapToResponse);
+        return mapToResponses(orderRepository.findAll(pageable));
+    }
+
+    /**
+     * Maps a page of orders, resolving the usernames of all their users at once
+     */
+    private Page<OrderResponse> mapToResponses(Page<Order> orders) {
+        Set<Long> userIds = orders.stream().map(order -> order.getUser().getId()).collect(Collectors.toSet());
+        Map<Long, UserSummary> users = userDirectory.getSummaries(userIds);
+        return orders.map(order -> mapToResponse(order, users));
     }
 
-    private OrderResponse mapToResponse(Order order) {
+    /**
+     * Only the id of the order's user is read, so its lazy reference is never initialized
+     */
+    private OrderResponse mapToResponse(Order order, Map<Long, UserSummary> users) {
         List<OrderItemResponse> itemResponses = order.getItems().stream().map(this::mapItemToResponse).toList();
+        Long userId = order.getUser().getId();
+        UserSummary user = users.get(userId);
 
         return OrderResponse.builder()
                 .id(order.getId())
-                .userId(order.getUser().getId())
-                .username(order.getUser().getUsername())
+                .userId(userId)
+                .username(user != null ? user.username() : null)
                 .items(itemResponses)
                 .orderTotal(order.getOrderTotal())
                 .totalDiscount(order.getTotalDiscount())
@@ -1,14 +1,21 @@
 package com.ecommerce.productorder.service.impl;
 
+import com.ecommerce.productorder.bulkhead.Bulkhead;
+import com.ecommerce.productorder.bulkhead.Workload;
+import com.ecommerce.productorder.exception.InsufficientStockException;
 import com.ecommerce.productorder.exception.ResourceNotFoundException;
 import com.ecommerce.productorder.model.dto.request.ProductRequest;
 import com.ecommerce.productorder.model.dto.response.ProductResponse;
 import com.ecommerce.productorder.model.entity.Product;
+import com.ecommerce.productorder.model.entity.User;
 import com.ecommerce.productorder.repository.ProductRepository;
 import com.ecommerce.productorder.repository.specification.ProductSpecifications;
 import com.ecommerce.productorder.service.ProductService;
+import com.ecommerce.productorder.util.LoggedInUser;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
@@ -16,8 +23,14 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -26,9 +39,13 @@ public class ProductServiceImpl implements ProductService {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private CacheManager cacheManager;
+
     @Override
     @Transactional
-    @CacheEvict(value = "products", allEntries = true)
+    @CacheEvict(value = {"products", "productBytes"}, allEntries = true)
+    @Bulkhead(Workload.ADMIN)
     public ProductResponse createProduct(ProductRequest request) {
         log.info("Creating new product: {}", request.getName());
         Product product = buildProduct(request);
@@ -38,9 +55,13 @@ public class ProductServiceImpl implements ProductService {
         return mapToResponse(savedProduct);
     }
 
+    /**
+     * Stays on the primary: a row read from a lagging replica right after an update would be cached as current
+     */
     @Override
     @Transactional
     @Cacheable(value = "products", key = "#id")
+    @Bulkhead(Workload.CATALOG)
     public ProductResponse getProductById(Long id) {
         log.info("Fetching product with ID: {}", id);
         Product product = getProduct(id);
@@ -49,7 +70,8 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    @Bulkhead(Workload.CATALOG)
     public Page<ProductResponse> getAllProducts(Pageable pageable) {
         log.info("Fetching all products with pagination");
 
@@ -57,7 +79,8 @@ public class ProductServiceImpl implements ProductService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    @Bulkhead(Workload.CATALOG)
     public Page<ProductResponse> searchProducts(String name, BigDecimal minPrice, BigDecimal maxPrice, Boolean available,
                                                 Pageable pageable) {
         log.info("Searching products with filters - name: {}, minPrice: {}, maxPrice: {}, available: {}",
@@ -74,7 +97,8 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     @Transactional
-    @CacheEvict(value = "products", allEntries = true)
+    @CacheEvict(value = {"products", "productBytes"}, allEntries = true)
+    @Bulkhead(Workload.ADMIN)
     public ProductResponse updateProduct(Long id, ProductRequest request) {
         log.info("Updating product with ID: {}", id);
         Product product = getProduct(id);
@@ -99,9 +123,31 @@ public class ProductServiceImpl implements ProductService {
         return productRepository.save(product);
     }
 
+    /**
+     * Takes the quantity off the product's stock and returns the product as currently stored.
+     * The cached responses of the product are evicted once the order commits, as they show the old stock.
+     *
+     * @throws ResourceNotFoundException   when the product does not exist or was deleted
+     * @throws InsufficientStockException when less than the quantity is in stock
+     */
     @Override
     @Transactional
-    @CacheEvict(value = "products", allEntries = true)
+    public Product reserveStock(Long id, int quantity) {
+        int updated = productRepository.decreaseQuantity(id, quantity, LocalDateTime.now(),
+                LoggedInUser.find().map(User::getId).orElse(null));
+        Product product = productRepository.findCurrentById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", id));
+        if (updated == 0) {
+            throw new InsufficientStockException(product.getName(), quantity, product.getQuantity());
+        }
+        evictAfterCommit(id);
+        return product;
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(value = {"products", "productBytes"}, allEntries = true)
+    @Bulkhead(Workload.ADMIN)
     public void deleteProduct(Long id) {
         log.info("Deleting product with ID: {}", id);
         Product product = getProduct(id);
@@ -109,6 +155,27 @@ public class ProductServiceImpl implements ProductService {
         log.info("Product soft-deleted successfully: {}", id);
     }
 
+    /**
+     * Drops the product's cached responses once the current transaction commits. Evicting earlier would let a
+     * concurrent read cache the old stock again before the change is visible.
+     */
+    private void evictAfterCommit(Long id) {
+        List<Cache> caches = Stream.of("products", "productBytes")
+                .map(cacheManager::getCache)
+                .filter(Objects::nonNull)
+                .toList();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            caches.forEach(cache -> cache.evict(id));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                caches.forEach(cache -> cache.evict(id));
+            }
+        });
+    }
+
     private static Product buildProduct(ProductRequest request) {
         Product product = Product.builder()
                 .name(request.getName())
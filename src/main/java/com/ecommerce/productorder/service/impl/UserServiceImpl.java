@@ -1,23 +1,41 @@
 package com.ecommerce.productorder.service.impl;
 
+import com.ecommerce.productorder.bulkhead.Bulkhead;
+import com.ecommerce.productorder.bulkhead.Workload;
 import com.ecommerce.productorder.exception.DuplicateResourceException;
 import com.ecommerce.productorder.exception.ResourceNotFoundException;
+import com.ecommerce.productorder.config.BulkRegistrationProperties;
 import com.ecommerce.productorder.model.dto.response.AuthResponse;
+import com.ecommerce.productorder.model.dto.response.BulkRegisterResponse;
+import com.ecommerce.productorder.model.dto.request.BulkRegisterRequest;
 import com.ecommerce.productorder.model.dto.request.LoginRequest;
 import com.ecommerce.productorder.model.dto.request.RegisterRequest;
 import com.ecommerce.productorder.model.entity.User;
 import com.ecommerce.productorder.model.enums.UserRole;
+import com.ecommerce.productorder.repository.UserBatchRepository;
 import com.ecommerce.productorder.repository.UserRepository;
+import com.ecommerce.productorder.repository.projection.UserIdentity;
+import com.ecommerce.productorder.security.BulkPasswordEncoder;
 import com.ecommerce.productorder.security.JwtUtil;
+import com.ecommerce.productorder.security.LoginGuard;
+import com.ecommerce.productorder.security.TokenVersionService;
 import com.ecommerce.productorder.service.UserService;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -30,10 +48,23 @@ public class UserServiceImpl implements UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
     @Autowired
-    private AuthenticationManager authenticationManager;
+    private LoginGuard loginGuard;
+    @Autowired
+    private TokenVersionService tokenVersionService;
+    @Autowired
+    private BulkPasswordEncoder bulkPasswordEncoder;
+    @Autowired
+    private UserBatchRepository userBatchRepository;
+    @Autowired
+    private BulkRegistrationProperties bulkRegistrationProperties;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private Validator validator;
 
     @Override
     @Transactional
+    @Bulkhead(Workload.AUTH)
     public AuthResponse register(RegisterRequest request) {
         log.info("Registering new user: {}", request.getUsername());
         validatedDuplicateUser(request);
@@ -45,11 +76,56 @@ public class UserServiceImpl implements UserService {
         return buildResponse(token, savedUser);
     }
 
+    /**
+     * Registers the valid rows and reports the rest. Uniqueness is checked for the whole batch with
+     * one query per field, passwords are hashed in parallel and users are inserted in JDBC batches.
+     * No tokens are issued.
+     */
     @Override
-    public AuthResponse login(LoginRequest request) {
+    @Bulkhead(Workload.ADMIN)
+    public BulkRegisterResponse bulkRegister(BulkRegisterRequest request) {
+        List<RegisterRequest> rows = request.getUsers();
+        log.info("Bulk registering {} users", rows.size());
+
+        String[] errors = new String[rows.size()];
+        validateRows(rows, errors);
+        rejectDuplicateUsers(rows, errors);
+
+        List<Integer> accepted = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (errors[i] == null) {
+                accepted.add(i);
+            }
+        }
+
+        Map<String, Long> userIds = accepted.isEmpty() ? Map.of() : insertUsers(rows, accepted);
+
+        List<BulkRegisterResponse.Result> results = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            RegisterRequest row = rows.get(i);
+            String username = row != null ? row.getUsername() : null;
+            results.add(BulkRegisterResponse.Result.builder()
+                    .index(i)
+                    .username(username)
+                    .userId(errors[i] == null ? userIds.get(username) : null)
+                    .created(errors[i] == null)
+                    .error(errors[i])
+                    .build());
+        }
+        log.info("Bulk registration finished: {} created, {} failed", accepted.size(), rows.size() - accepted.size());
+
+        return BulkRegisterResponse.builder()
+                .created(accepted.size())
+                .failed(rows.size() - accepted.size())
+                .results(results)
+                .build();
+    }
+
+    @Override
+    public AuthResponse login(LoginRequest request, String clientAddress) {
         log.info("Authenticating user: {}", request.getUsername());
 
-        User user = getAuthenticatedUser(request);
+        User user = loginGuard.authenticate(request.getUsername(), request.getPassword(), clientAddress);
         String token = jwtUtil.generateToken(user);
         log.info("User authenticated successfully: {}", user.getUsername());
 
@@ -62,16 +138,18 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
     }
 
-    private User getAuthenticatedUser(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getUsername(),
-                        request.getPassword()
-                )
-        );
-
-        User user = (User) authentication.getPrincipal();
-        return user;
+    /**
+     * Disables the account. Its tokens are rejected once the cached token version is evicted after commit.
+     */
+    @Override
+    @Transactional
+    @Bulkhead(Workload.ADMIN)
+    public void disableUser(Long id) {
+        log.info("Disabling user ID: {}", id);
+        if (userRepository.disable(id) == 0) {
+            throw new ResourceNotFoundException("User", "id", id);
+        }
+        tokenVersionService.evictAfterCommit(id);
     }
 
     private static AuthResponse buildResponse(String token, User savedUser) {
@@ -94,6 +172,88 @@ public class UserServiceImpl implements UserService {
                 .build();
     }
 
+    private void validateRows(List<RegisterRequest> rows, String[] errors) {
+        for (int i = 0; i < rows.size(); i++) {
+            RegisterRequest row = rows.get(i);
+            if (row == null) {
+                errors[i] = "User is required";
+                continue;
+            }
+            Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                errors[i] = violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining(", "));
+            }
+        }
+    }
+
+    /**
+     * Marks rows whose username or email is already taken, either by an existing user or by an earlier row
+     */
+    private void rejectDuplicateUsers(List<RegisterRequest> rows, String[] errors) {
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        for (int i = 0; i < rows.size(); i++) {
+            if (errors[i] == null) {
+                usernames.add(rows.get(i).getUsername());
+                emails.add(rows.get(i).getEmail());
+            }
+        }
+        if (usernames.isEmpty()) {
+            return;
+        }
+
+        Set<String> takenUsernames = new HashSet<>(userRepository.findExistingUsernames(usernames));
+        Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(emails));
+        for (int i = 0; i < rows.size(); i++) {
+            if (errors[i] != null) {
+                continue;
+            }
+            RegisterRequest row = rows.get(i);
+            if (takenUsernames.contains(row.getUsername())) {
+                errors[i] = String.format("User already exists with username: '%s'", row.getUsername());
+            } else if (takenEmails.contains(row.getEmail())) {
+                errors[i] = String.format("User already exists with email: '%s'", row.getEmail());
+            } else {
+                takenUsernames.add(row.getUsername());
+                takenEmails.add(row.getEmail());
+            }
+        }
+    }
+
+    /**
+     * Hashes outside the transaction, then inserts and reads back the generated ids by username
+     */
+    private Map<String, Long> insertUsers(List<RegisterRequest> rows, List<Integer> accepted) {
+        List<String> encodedPasswords = bulkPasswordEncoder.encodeAll(
+                accepted.stream().map(i -> rows.get(i).getPassword()).toList());
+
+        List<User> users = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            RegisterRequest row = rows.get(accepted.get(i));
+            users.add(User.builder()
+                    .username(row.getUsername())
+                    .email(row.getEmail())
+                    .password(encodedPasswords.get(i))
+                    .role(UserRole.valueOf(row.getRole().toUpperCase()))
+                    .enabled(true)
+                    .build());
+        }
+
+        try {
+            return transactionTemplate.execute(status -> {
+                userBatchRepository.insertAll(users, bulkRegistrationProperties.getInsertBatchSize());
+                return userRepository.findIdentitiesByUsernameIn(users.stream().map(User::getUsername).toList())
+                        .stream()
+                        .collect(Collectors.toMap(UserIdentity::getUsername, UserIdentity::getId));
+            });
+        } catch (DuplicateKeyException e) {
+            throw new DuplicateResourceException("Some users were registered concurrently, retry the batch");
+        }
+    }
+
     private void validatedDuplicateUser(RegisterRequest request) {
         if (userRepository.existsByUsername(request.getUsername())) {
             throw new DuplicateResourceException("User", "username", request.getUsername());
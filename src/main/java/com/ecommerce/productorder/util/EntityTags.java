@@ -0,0 +1,29 @@
+package com.ecommerce.productorder.util;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Version-based ETag and Last-Modified values for entities, derived from id and updatedAt
+ */
+public class EntityTags {
+
+    private EntityTags() {
+    }
+
+    /**
+     * Strong, quoted ETag that changes whenever the entity is modified
+     */
+    public static String etag(Long id, LocalDateTime updatedAt) {
+        Instant instant = updatedAt.atZone(ZoneId.systemDefault()).toInstant();
+        return "\"" + id + "-" + Long.toHexString(instant.getEpochSecond()) + "." + Integer.toHexString(instant.getNano()) + "\"";
+    }
+
+    /**
+     * Last-Modified timestamp in epoch milliseconds; audit timestamps are stored in the server time zone
+     */
+    public static long lastModified(LocalDateTime updatedAt) {
+        return updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
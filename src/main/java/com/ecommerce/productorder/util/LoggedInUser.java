@@ -16,9 +16,20 @@ public class LoggedInUser {
     }
 
     public static User get() {
+        return find().orElseThrow(() -> new ApplicationException("Unable to load user from security context"));
+    }
+
+    /**
+     * The authenticated user, if the request has one. Carries the id, username and role from the token
+     * and is not a managed entity; use {@code UserDirectory} to reference it in associations.
+     */
+    public static Optional<User> find() {
         return Optional.ofNullable(SecurityContextHolder.getContext()).map(SecurityContext::getAuthentication).map(
-                Authentication::getPrincipal).map(User.class::cast).orElseThrow(
-                () -> new ApplicationException("Unable to load user from security context"));
+                Authentication::getPrincipal).filter(User.class::isInstance).map(User.class::cast);
+    }
+
+    public static UserRole getRole() {
+        return get().getRole();
     }
 
     public static boolean isAdmin() {
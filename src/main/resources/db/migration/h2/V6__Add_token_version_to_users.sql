@@ -0,0 +1,3 @@
+-- Token version embedded in JWTs as the "ver" claim.
+-- Incrementing it revokes every token previously issued to the user.
+ALTER TABLE users ADD COLUMN token_version INTEGER NOT NULL DEFAULT 0;
@@ -0,0 +1,6 @@
+-- Sequences for products, orders and order_items ids
+-- Hibernate takes ids in blocks of 50 (pooled optimizer), so INCREMENT BY must match the entity allocation size
+-- A sequence value is the top of its block, so starting at 1050 hands out ids from 1001, above the sample data
+CREATE SEQUENCE products_seq START WITH 1050 INCREMENT BY 50;
+CREATE SEQUENCE orders_seq START WITH 1050 INCREMENT BY 50;
+CREATE SEQUENCE order_items_seq START WITH 1050 INCREMENT BY 50;
@@ -0,0 +1,10 @@
+-- Sequences for products, orders and order_items ids
+-- Hibernate takes ids in blocks of 50 (pooled optimizer), so INCREMENT BY must match the entity allocation size
+CREATE SEQUENCE products_seq INCREMENT BY 50;
+CREATE SEQUENCE orders_seq INCREMENT BY 50;
+CREATE SEQUENCE order_items_seq INCREMENT BY 50;
+
+-- A sequence value is the top of its block, so the first block handed out starts right after the existing ids
+SELECT setval('products_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM products), false);
+SELECT setval('orders_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM orders), false);
+SELECT setval('order_items_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM order_items), false);
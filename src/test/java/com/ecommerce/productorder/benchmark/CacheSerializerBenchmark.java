@@ -0,0 +1,83 @@
+package com.ecommerce.productorder.benchmark;
+
+import com.ecommerce.productorder.cache.CompactRedisSerializer;
+import com.ecommerce.productorder.cache.ProductResponseCodec;
+import com.ecommerce.productorder.model.dto.response.ProductResponse;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JSON and compact Redis value serializers for a cached {@link ProductResponse}.
+ * Payload sizes are printed once per fork; run with
+ * {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="CacheSerializerBenchmark -prof gc"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CacheSerializerBenchmark {
+
+    @Param({"short", "long"})
+    private String description;
+
+    private RedisSerializer<Object> json;
+    private RedisSerializer<Object> compact;
+    private ProductResponse product;
+    private byte[] jsonBytes;
+    private byte[] compactBytes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        json = new GenericJackson2JsonRedisSerializer()
+                .configure(mapper -> mapper.registerModule(new JavaTimeModule()));
+        compact = new CompactRedisSerializer(json, 512, List.of(new ProductResponseCodec()));
+
+        String text = "short".equals(description)
+                ? "High-performance laptop with 16GB RAM"
+                : "High-performance laptop with 16GB RAM, 1TB NVMe storage and a 15.6 inch display. ".repeat(12);
+        product = ProductResponse.builder()
+                .id(42L)
+                .name("Laptop")
+                .description(text)
+                .price(new BigDecimal("1200.00"))
+                .quantity(50)
+                .available(true)
+                .createdAt(LocalDateTime.of(2025, 12, 11, 10, 0, 0))
+                .updatedAt(LocalDateTime.of(2025, 12, 11, 18, 30, 15, 123_000_000))
+                .build();
+
+        jsonBytes = json.serialize(product);
+        compactBytes = compact.serialize(product);
+        System.out.printf("%n[%s description] json: %d bytes, compact: %d bytes%n",
+                description, jsonBytes.length, compactBytes.length);
+    }
+
+    @Benchmark
+    public byte[] serializeJson() {
+        return json.serialize(product);
+    }
+
+    @Benchmark
+    public byte[] serializeCompact() {
+        return compact.serialize(product);
+    }
+
+    @Benchmark
+    public Object deserializeJson() {
+        return json.deserialize(jsonBytes);
+    }
+
+    @Benchmark
+    public Object deserializeCompact() {
+        return compact.deserialize(compactBytes);
+    }
+}
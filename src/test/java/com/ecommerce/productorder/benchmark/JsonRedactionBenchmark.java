@@ -0,0 +1,99 @@
+package com.ecommerce.productorder.benchmark;
+
+import com.ecommerce.productorder.config.LoggingProperties;
+import com.ecommerce.productorder.constant.ApplicationConstant;
+import com.ecommerce.productorder.logging.JsonRedactor;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous tree-based body sanitizing (parse into maps, lowercase and stream over the
+ * sensitive fields for every key, serialize again) with the streaming redactor, for order-like bodies
+ * of about 1 KB and 16 KB. Divide {@code gc.alloc.rate.norm} by {@code bodyKb} for allocation per KB.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="JsonRedactionBenchmark -prof gc"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonRedactionBenchmark {
+
+    @Param({"1", "16"})
+    public int bodyKb;
+
+    private ObjectMapper objectMapper;
+    private List<String> sensitiveFields;
+    private JsonRedactor redactor;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+        sensitiveFields = List.of("password", "token", "authorization");
+        LoggingProperties properties = new LoggingProperties();
+        properties.setSensitiveFields(sensitiveFields);
+        redactor = new JsonRedactor(objectMapper, properties);
+        body = orderListing(bodyKb * 1024);
+    }
+
+    /**
+     * A page of orders with items, plus a token field, grown until it reaches the target size
+     */
+    private static byte[] orderListing(int targetSize) {
+        StringBuilder json = new StringBuilder("{\"token\":\"eyJhbGciOiJIUzI1NiJ9.payload.signature\",\"content\":[");
+        int id = 1;
+        while (json.length() < targetSize) {
+            if (id > 1) {
+                json.append(',');
+            }
+            json.append("{\"id\":").append(id).append(",\"userId\":3,\"username\":\"regularuser\",\"items\":[")
+                    .append("{\"id\":").append(id * 10).append(",\"productId\":1,\"productName\":\"Laptop\",\"quantity\":1,")
+                    .append("\"unitPrice\":1200.00,\"discountApplied\":0,\"totalPrice\":1200.00}],")
+                    .append("\"orderTotal\":1140.00,\"totalDiscount\":60.00,\"createdAt\":\"2026-10-19T05:39:07.672156\"}");
+            id++;
+        }
+        json.append("],\"page\":0,\"size\":20,\"totalItems\":100,\"totalPages\":5}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String previousTreeSanitize() throws Exception {
+        Object tree = objectMapper.readValue(new String(body, StandardCharsets.UTF_8), Object.class);
+        return objectMapper.writeValueAsString(sanitize(tree));
+    }
+
+    @Benchmark
+    public String streamingRedact() {
+        return redactor.redact(body, body.length, StandardCharsets.UTF_8);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Object sanitize(Object obj) {
+        if (obj instanceof Map) {
+            Map<String, Object> sanitized = new LinkedHashMap<>();
+            for (Map.Entry<String, Object> entry : ((Map<String, Object>) obj).entrySet()) {
+                String key = entry.getKey().toLowerCase();
+                boolean isSensitive = sensitiveFields.stream()
+                        .anyMatch(sensitiveField -> key.contains(sensitiveField.toLowerCase()));
+                sanitized.put(entry.getKey(), isSensitive ? ApplicationConstant.MASKED_VALUE : sanitize(entry.getValue()));
+            }
+            return sanitized;
+        } else if (obj instanceof List) {
+            List<Object> sanitized = new ArrayList<>();
+            for (Object item : (List<Object>) obj) {
+                sanitized.add(sanitize(item));
+            }
+            return sanitized;
+        }
+        return obj;
+    }
+}
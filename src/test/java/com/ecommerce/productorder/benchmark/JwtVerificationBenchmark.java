@@ -0,0 +1,87 @@
+package com.ecommerce.productorder.benchmark;
+
+import com.ecommerce.productorder.model.entity.User;
+import com.ecommerce.productorder.model.enums.UserRole;
+import com.ecommerce.productorder.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous JWT validation (key and parser rebuilt per call, token parsed three times)
+ * with single-parse verification using a prebuilt parser, with and without the verified-token cache.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="JwtVerificationBenchmark -prof gc"}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private JwtUtil singleParse;
+    private JwtUtil cached;
+    private User user;
+    private String token;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        singleParse = jwtUtil(0);
+        cached = jwtUtil(10_000);
+        user = User.builder()
+                .id(42L)
+                .username("premiumuser")
+                .role(UserRole.PREMIUM_USER)
+                .enabled(true)
+                .tokenVersion(0)
+                .build();
+        token = singleParse.generateToken(user);
+    }
+
+    private static JwtUtil jwtUtil(int verifiedTokenCacheSize) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedTokenCacheSize", verifiedTokenCacheSize);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        return jwtUtil;
+    }
+
+    /**
+     * Validation as previously done by the authentication filter: extract the username,
+     * then validate (username again and expiration), each with a freshly built key and parser
+     */
+    @Benchmark
+    public boolean previousValidation() {
+        String username = legacyClaims(token).getSubject();
+        return legacyClaims(token).getSubject().equals(username)
+                && !legacyClaims(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public Claims singleParse() {
+        return singleParse.extractAllClaims(token);
+    }
+
+    @Benchmark
+    public Claims cachedVerification() {
+        return cached.extractAllClaims(token);
+    }
+
+    private static Claims legacyClaims(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET)))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,155 @@
+package com.ecommerce.productorder.bulkhead;
+
+import com.ecommerce.productorder.config.BulkheadProperties;
+import com.ecommerce.productorder.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Bulkhead Aspect Tests")
+class BulkheadAspectTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private AnnotationConfigApplicationContext context;
+    private Workloads target;
+    private Workloads workloads;
+
+    @BeforeEach
+    void setUp() {
+        BulkheadProperties properties = new BulkheadProperties();
+        properties.getWorkloads().put(Workload.ADMIN, new BulkheadProperties.Limit(1, Duration.ofMillis(50)));
+        properties.getWorkloads().put(Workload.CHECKOUT, new BulkheadProperties.Limit(1, Duration.ofMillis(50)));
+
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean(BulkheadProperties.class, () -> properties);
+        context.registerBean(MeterRegistry.class, () -> meterRegistry);
+        context.registerBean(BulkheadAspect.class);
+        context.registerBean(Workloads.class);
+        context.register(AopConfig.class);
+        context.refresh();
+        workloads = context.getBean(Workloads.class);
+        target = (Workloads) AopProxyUtils.getSingletonTarget(workloads);
+        target.self = workloads;
+    }
+
+    @AfterEach
+    void tearDown() {
+        target.release.countDown();
+        executor.shutdownNow();
+        context.close();
+    }
+
+    @Test
+    @DisplayName("Should reject calls with 503 once a workload is full, without affecting other workloads")
+    void testSaturation() throws Exception {
+        Future<String> running = executor.submit(() -> workloads.report());
+        assertTrue(target.entered.await(5, TimeUnit.SECONDS));
+
+        ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class, () -> workloads.report());
+        assertEquals(1, exception.getRetryAfterSeconds());
+        assertEquals("checkout", workloads.checkout());
+        assertEquals(1, meterRegistry.get("bulkhead.active").tag("bulkhead", "admin").gauge().value());
+        assertEquals(1, meterRegistry.get("bulkhead.rejected").tag("bulkhead", "admin").counter().count());
+
+        target.release.countDown();
+        assertEquals("report", running.get(5, TimeUnit.SECONDS));
+        assertEquals(0, meterRegistry.get("bulkhead.active").tag("bulkhead", "admin").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should serve cache hits without taking a permit")
+    void testCacheHitsBypassBulkhead() throws Exception {
+        assertEquals("summary", workloads.summary());
+        Future<String> running = executor.submit(() -> workloads.report());
+        assertTrue(target.entered.await(5, TimeUnit.SECONDS));
+
+        assertEquals("summary", workloads.summary());
+        assertEquals(1, target.summaries);
+        assertEquals(0, meterRegistry.get("bulkhead.rejected").tag("bulkhead", "admin").counter().count());
+
+        target.release.countDown();
+        assertEquals("report", running.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should run nested calls under the outer permit")
+    void testNestedCalls() {
+        assertEquals("checkout", workloads.nested());
+    }
+
+    @Test
+    @DisplayName("Should not limit workloads without configured limits")
+    void testUnconfiguredWorkload() {
+        assertEquals("catalog", workloads.catalog());
+    }
+
+    @Configuration
+    @EnableAspectJAutoProxy
+    @EnableCaching(order = BulkheadAspect.ORDER - 1)
+    static class AopConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager("summaries");
+        }
+    }
+
+    public static class Workloads {
+
+        private final CountDownLatch entered = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private Workloads self;
+        private int summaries;
+
+        @Bulkhead(Workload.ADMIN)
+        public String report() throws InterruptedException {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "report";
+        }
+
+        @Cacheable("summaries")
+        @Bulkhead(Workload.ADMIN)
+        public String summary() {
+            summaries++;
+            return "summary";
+        }
+
+        @Bulkhead(Workload.CHECKOUT)
+        public String checkout() {
+            return "checkout";
+        }
+
+        @Bulkhead(Workload.CHECKOUT)
+        public String nested() {
+            return self.checkout();
+        }
+
+        @Bulkhead(Workload.CATALOG)
+        public String catalog() {
+            return "catalog";
+        }
+    }
+}
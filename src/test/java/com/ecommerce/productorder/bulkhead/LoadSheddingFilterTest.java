@@ -0,0 +1,132 @@
+package com.ecommerce.productorder.bulkhead;
+
+import com.ecommerce.productorder.config.LoadSheddingProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Load Shedding Filter Tests")
+class LoadSheddingFilterTest {
+
+    private static final long MILLIS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LoadSheddingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        LoadSheddingProperties properties = new LoadSheddingProperties();
+        properties.setInitialLimit(4);
+        properties.setMinLimit(4);
+        properties.setMaxLimit(4);
+        properties.setExcludedPaths(List.of("/actuator/**"));
+        properties.getRoutes().put(Workload.CHECKOUT, route(1.0, "POST /api/orders"));
+        properties.getRoutes().put(Workload.ADMIN, route(0.5, "GET /api/orders", "/api/revocations/**"));
+        filter = new LoadSheddingFilter(properties, new ObjectMapper().findAndRegisterModules(), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should shed lower priority requests first once they fill their share of the limit")
+    void testPriorityShedding() throws Exception {
+        MockHttpServletResponse admin = new MockHttpServletResponse();
+        MockHttpServletResponse checkout = new MockHttpServletResponse();
+
+        // Two requests in flight: half the limit, the admin share
+        inFlight(2, () -> {
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/orders"), admin, new MockFilterChain());
+            filter.doFilter(new MockHttpServletRequest("POST", "/api/orders"), checkout, new MockFilterChain());
+        });
+
+        assertEquals(503, admin.getStatus());
+        assertEquals("1", admin.getHeader("Retry-After"));
+        assertTrue(admin.getContentAsString().contains("Service is overloaded"));
+        assertEquals(200, checkout.getStatus());
+        assertEquals(1, meterRegistry.get("load.shedding.rejected").tag("workload", "admin").counter().count());
+        assertEquals(0, meterRegistry.get("load.shedding.inflight").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should let excluded paths through regardless of the limit")
+    void testExcludedPaths() throws Exception {
+        MockHttpServletResponse health = new MockHttpServletResponse();
+        MockHttpServletResponse catalog = new MockHttpServletResponse();
+
+        inFlight(4, () -> {
+            filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), health, new MockFilterChain());
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), catalog, new MockFilterChain());
+        });
+
+        assertEquals(200, health.getStatus());
+        assertEquals(503, catalog.getStatus());
+    }
+
+    @Test
+    @DisplayName("Should shrink the limit when latency rises under load and grow it back when latency recovers")
+    void testGradientLimit() {
+        GradientLimit limit = new GradientLimit(20, 5, 100, 2.0, 0.2, 100);
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MILLIS, limit.getLimit());
+        }
+        int steady = limit.getLimit();
+        assertTrue(steady > 20, "limit grows while latency is steady");
+
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(100 * MILLIS, limit.getLimit());
+        }
+        assertTrue(limit.getLimit() < steady / 2, "limit shrinks when latency rises");
+
+        int overloaded = limit.getLimit();
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MILLIS, 1);
+        }
+        assertEquals(overloaded, limit.getLimit(), "limit does not grow from mostly idle samples");
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MILLIS, limit.getLimit());
+        }
+        assertTrue(limit.getLimit() > overloaded, "limit recovers under load once latency is back");
+    }
+
+    private static LoadSheddingProperties.Route route(double share, String... paths) {
+        LoadSheddingProperties.Route route = new LoadSheddingProperties.Route();
+        route.setShare(share);
+        route.setPaths(List.of(paths));
+        return route;
+    }
+
+    /**
+     * Runs the requests while the given number of checkouts are still in flight, by nesting them in the filter chain
+     */
+    private void inFlight(int requests, Requests inner) throws Exception {
+        if (requests == 0) {
+            inner.run();
+            return;
+        }
+        FilterChain chain = (request, response) -> {
+            try {
+                inFlight(requests - 1, inner);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        };
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("POST", "/api/orders"), response, chain);
+        assertEquals(200, response.getStatus());
+    }
+
+    @FunctionalInterface
+    private interface Requests {
+        void run() throws Exception;
+    }
+}
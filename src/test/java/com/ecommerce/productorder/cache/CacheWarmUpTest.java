@@ -0,0 +1,127 @@
+package com.ecommerce.productorder.cache;
+
+import com.ecommerce.productorder.model.dto.request.OrderItemRequest;
+import com.ecommerce.productorder.model.dto.request.OrderRequest;
+import com.ecommerce.productorder.model.entity.Product;
+import com.ecommerce.productorder.model.entity.User;
+import com.ecommerce.productorder.repository.OrderItemRepository;
+import com.ecommerce.productorder.repository.ProductRepository;
+import com.ecommerce.productorder.repository.UserRepository;
+import com.ecommerce.productorder.service.OrderService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+
+@SpringBootTest(properties = {"cache.warm-up.top-products=2", "cache.warm-up.jit-iterations=10"})
+@ActiveProfiles("test")
+@DisplayName("Cache Warm-Up Tests")
+class CacheWarmUpTest {
+
+    @Autowired
+    private CacheWarmUp cacheWarmUp;
+
+    @Autowired
+    private CacheWarmUpHealthIndicator healthIndicator;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @SpyBean
+    private OrderItemRepository orderItemRepository;
+
+    private TransactionTemplate transaction;
+    private Long liveProductId;
+    private Long deletedProductId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        liveProductId = transaction.execute(status -> productRepository.save(product("Warm-up live")).getId());
+        deletedProductId = transaction.execute(status -> productRepository.save(product("Warm-up deleted")).getId());
+
+        User customer = transaction.execute(status -> userRepository.findByUsername("regularuser").orElseThrow());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(customer, null, customer.getAuthorities()));
+        orderService.createOrder(new OrderRequest(List.of(
+                new OrderItemRequest(liveProductId, 1), new OrderItemRequest(deletedProductId, 5))));
+
+        transaction.executeWithoutResult(status ->
+                productRepository.delete(productRepository.findById(deletedProductId).orElseThrow()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should not rank deleted products among the most ordered")
+    void testTopOrderedProductsExcludeDeleted() {
+        List<Long> productIds = orderItemRepository.findTopOrderedProductIds(
+                LocalDateTime.now().minusDays(1), PageRequest.of(0, 100));
+
+        assertTrue(productIds.contains(liveProductId));
+        assertFalse(productIds.contains(deletedProductId));
+    }
+
+    @Test
+    @DisplayName("Should skip a product deleted after it was ranked and still complete the warm-up")
+    void testSkipDeletedProduct() {
+        // Deleted between the ranking query and the preload
+        doReturn(List.of(deletedProductId, liveProductId))
+                .when(orderItemRepository).findTopOrderedProductIds(any(), any());
+
+        cacheWarmUp.run();
+
+        assertEquals(CacheWarmUp.Phase.COMPLETED, cacheWarmUp.getPhase());
+        assertEquals(2, cacheWarmUp.getProductsTotal());
+        assertEquals(1, cacheWarmUp.getProductsLoaded());
+        assertEquals(1, cacheWarmUp.getProductsSkipped());
+        assertEquals(10, cacheWarmUp.getJitIterationsCompleted());
+
+        Health health = healthIndicator.health();
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(1, health.getDetails().get("productsSkipped"));
+        assertNull(health.getDetails().get("error"));
+    }
+
+    private static Product product(String name) {
+        Product product = Product.builder()
+                .name(name)
+                .description("Cache warm-up test")
+                .price(new BigDecimal("9.99"))
+                .quantity(10)
+                .build();
+        product.setDeleted(false);
+        return product;
+    }
+}
@@ -0,0 +1,101 @@
+package com.ecommerce.productorder.cache;
+
+import com.ecommerce.productorder.model.dto.response.ProductResponse;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Compact Redis Serializer Tests")
+class CompactRedisSerializerTest {
+
+    private RedisSerializer<Object> jsonSerializer;
+    private CompactRedisSerializer compactSerializer;
+    private ProductResponse product;
+
+    @BeforeEach
+    void setUp() {
+        jsonSerializer = new GenericJackson2JsonRedisSerializer()
+                .configure(mapper -> mapper.registerModule(new JavaTimeModule()));
+        compactSerializer = new CompactRedisSerializer(jsonSerializer, 512, List.of(new ProductResponseCodec(), new PreparedResponseCodec()));
+
+        product = ProductResponse.builder()
+                .id(1L)
+                .name("Laptop")
+                .description("High-performance laptop with 16GB RAM")
+                .price(new BigDecimal("1200.00"))
+                .quantity(50)
+                .available(true)
+                .createdAt(LocalDateTime.of(2025, 12, 11, 10, 0, 0))
+                .updatedAt(LocalDateTime.of(2025, 12, 11, 18, 30, 15, 123_456_789))
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should round-trip a product response and be smaller than JSON")
+    void testProductRoundTrip() {
+        byte[] bytes = compactSerializer.serialize(product);
+
+        assertEquals(product, compactSerializer.deserialize(bytes));
+        assertTrue(bytes.length < jsonSerializer.serialize(product).length);
+    }
+
+    @Test
+    @DisplayName("Should round-trip a product response with null fields")
+    void testProductWithNullsRoundTrip() {
+        ProductResponse sparse = ProductResponse.builder().id(7L).name("Cable").available(false).build();
+
+        assertEquals(sparse, compactSerializer.deserialize(compactSerializer.serialize(sparse)));
+    }
+
+    @Test
+    @DisplayName("Should compress payloads above the threshold")
+    void testCompressionAboveThreshold() {
+        product.setDescription("Noise-cancelling wireless headphones. ".repeat(50));
+
+        byte[] bytes = compactSerializer.serialize(product);
+
+        assertEquals(CompactRedisSerializer.FLAG_DEFLATE, bytes[1] & CompactRedisSerializer.FLAG_DEFLATE);
+        assertEquals(product, compactSerializer.deserialize(bytes));
+    }
+
+    @Test
+    @DisplayName("Should fall back to JSON for types without a codec")
+    void testFallbackForUnknownTypes() {
+        Map<String, Object> value = new HashMap<>();
+        value.put("count", 3);
+
+        byte[] bytes = compactSerializer.serialize(value);
+
+        assertEquals(CompactRedisSerializer.FALLBACK_TYPE_ID, bytes[2]);
+        assertEquals(value, compactSerializer.deserialize(bytes));
+    }
+
+    @Test
+    @DisplayName("Should read entries previously written by the JSON serializer")
+    void testReadsLegacyJsonEntries() {
+        byte[] legacy = jsonSerializer.serialize(product);
+
+        assertEquals(product, compactSerializer.deserialize(legacy));
+    }
+
+    @Test
+    @DisplayName("Should round-trip a prepared response with and without a gzip body")
+    void testPreparedResponseRoundTrip() {
+        PreparedResponse withGzip = new PreparedResponse(new byte[]{'{', '}'}, new byte[]{31, -117, 8}, "\"abc\"", 1765447200000L);
+        PreparedResponse withoutGzip = new PreparedResponse(new byte[]{'{', '}'}, null, "\"abc\"", null);
+
+        assertEquals(withGzip, compactSerializer.deserialize(compactSerializer.serialize(withGzip)));
+        assertEquals(withoutGzip, compactSerializer.deserialize(compactSerializer.serialize(withoutGzip)));
+    }
+}
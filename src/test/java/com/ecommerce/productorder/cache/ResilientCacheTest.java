@@ -0,0 +1,106 @@
+package com.ecommerce.productorder.cache;
+
+import com.ecommerce.productorder.model.dto.response.ProductResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Resilient Cache Tests")
+class ResilientCacheTest {
+
+    @Mock
+    private Cache remoteCache;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    private ResilientCache resilientCache(CircuitBreaker circuitBreaker) {
+        return new ResilientCache(remoteCache, circuitBreaker,
+                new LocalFallbackStore(100, Duration.ofMinutes(1)), meterRegistry.counter("cache.fallbacks"));
+    }
+
+    @Test
+    @DisplayName("Should open the circuit after consecutive failures and stop calling the remote cache")
+    void testOpensAfterFailures() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", 2, Duration.ofMinutes(5));
+        ResilientCache cache = resilientCache(circuitBreaker);
+        when(remoteCache.get(any())).thenThrow(new QueryTimeoutException("Redis timed out"));
+
+        assertNull(cache.get(1L));
+        assertNull(cache.get(1L));
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        assertNull(cache.get(1L));
+        verify(remoteCache, times(2)).get(any());
+        assertEquals(3, circuitBreaker.getFallbackCount());
+    }
+
+    @Test
+    @DisplayName("Should serve locally stored values while the circuit is open")
+    void testServesFromFallbackStore() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", 1, Duration.ofMinutes(5));
+        ResilientCache cache = resilientCache(circuitBreaker);
+        doThrow(new QueryTimeoutException("Redis timed out")).when(remoteCache).put(any(), any());
+
+        cache.put(1L, "product");
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals("product", cache.get(1L).get());
+        verify(remoteCache, never()).get(any());
+    }
+
+    @Test
+    @DisplayName("Should clear the remote cache after recovery when evictions were missed")
+    void testClearsRemoteCacheAfterMissedEviction() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", 1, Duration.ZERO);
+        ResilientCache cache = resilientCache(circuitBreaker);
+        doThrow(new QueryTimeoutException("Redis timed out")).when(remoteCache).evict(any());
+
+        cache.evict(1L);
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+
+        cache.get(1L);
+
+        verify(remoteCache, times(1)).clear();
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    @DisplayName("Should treat an entry written with another codec version as a miss and evict it")
+    void testStaleVersionIsMiss() {
+        CircuitBreaker circuitBreaker = new CircuitBreaker("test", 1, Duration.ofMinutes(5));
+        ResilientCache cache = resilientCache(circuitBreaker);
+        CompactRedisSerializer serializer = new CompactRedisSerializer(new GenericJackson2JsonRedisSerializer(), -1,
+                List.of(new ProductResponseCodec()));
+        byte[] stale = serializer.serialize(ProductResponse.builder().id(1L).name("Cable").available(true).build());
+        // The schema version follows the 3-byte header of an uncompressed entry
+        stale[3]++;
+        when(remoteCache.get(1L)).thenAnswer(invocation -> serializer.deserialize(stale));
+
+        assertNull(cache.get(1L));
+        assertNull(cache.get(1L));
+
+        verify(remoteCache, times(2)).evict(1L);
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getFallbackCount());
+    }
+}
@@ -0,0 +1,110 @@
+package com.ecommerce.productorder.datasource;
+
+import com.ecommerce.productorder.model.entity.User;
+import com.ecommerce.productorder.model.enums.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DisplayName("Read/Write Routing Data Source Tests")
+class ReadWriteRoutingDataSourceTest {
+
+    private ReadWriteRoutingDataSource routingDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readOnlyTransaction;
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        routingDataSource.close();
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replicas in turn and writes to the primary")
+    void testRouting() {
+        setUp(Duration.ofSeconds(5));
+
+        assertEquals("primary", writeTransaction.execute(status -> node()));
+        assertEquals("replica-1", readOnlyTransaction.execute(status -> node()));
+        assertEquals("replica-2", readOnlyTransaction.execute(status -> node()));
+        assertEquals("replica-1", readOnlyTransaction.execute(status -> node()));
+        assertEquals("primary", node());
+    }
+
+    @Test
+    @DisplayName("Should keep a user's reads on the primary within the window after their write")
+    void testReadYourWrites() {
+        setUp(Duration.ofMinutes(1));
+        authenticate(1L);
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET writes = writes + 1"));
+
+        assertEquals("primary", readOnlyTransaction.execute(status -> node()));
+
+        authenticate(2L);
+        assertEquals("replica-1", readOnlyTransaction.execute(status -> node()));
+    }
+
+    @Test
+    @DisplayName("Should read from the replicas right after a write when the window is zero")
+    void testNoWindow() {
+        setUp(Duration.ZERO);
+        authenticate(1L);
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET writes = writes + 1"));
+
+        assertEquals("replica-1", readOnlyTransaction.execute(status -> node()));
+    }
+
+    private void setUp(Duration readYourWritesWindow) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-1", database("replica-1"));
+        replicas.put("replica-2", database("replica-2"));
+        routingDataSource = new ReadWriteRoutingDataSource(database("primary"), replicas,
+                new ReplicaLagGuard(readYourWritesWindow, 100), new SimpleMeterRegistry());
+        routingDataSource.afterPropertiesSet();
+
+        DataSource dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    /**
+     * A separate in-memory database per node, each naming itself
+     */
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + "-" + System.nanoTime() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20), writes INT)");
+        jdbcTemplate.update("INSERT INTO node VALUES (?, 0)", name);
+        return dataSource;
+    }
+
+    private static void authenticate(Long userId) {
+        User user = User.builder().id(userId).username("user" + userId).role(UserRole.USER).build();
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+    }
+}
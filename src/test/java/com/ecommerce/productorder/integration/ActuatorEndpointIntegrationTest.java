@@ -0,0 +1,61 @@
+package com.ecommerce.productorder.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser(roles = "ADMIN")
+@DisplayName("Actuator Endpoint Integration Tests")
+class ActuatorEndpointIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("Should list slow requests with or without the optional limit")
+    void testSlowRequestsLimitOptional() throws Exception {
+        mockMvc.perform(get("/actuator/slowrequests"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.enabled").value(true))
+                .andExpect(jsonPath("$.requests").isArray());
+        mockMvc.perform(get("/actuator/slowrequests").param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.requests").isArray());
+    }
+
+    @Test
+    @DisplayName("Should start a flight recording without the optional duration and discard it")
+    void testJfrDurationOptional() throws Exception {
+        MvcResult started = mockMvc.perform(post("/actuator/jfr")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"preset\": \"CPU\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.preset").value("CPU"))
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andReturn();
+        long id = objectMapper.readTree(started.getResponse().getContentAsString()).get("id").asLong();
+
+        mockMvc.perform(delete("/actuator/jfr/{id}", id))
+                .andExpect(status().isNoContent());
+    }
+}
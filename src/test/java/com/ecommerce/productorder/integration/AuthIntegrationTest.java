@@ -1,6 +1,7 @@
 package com.ecommerce.productorder.integration;
 
 import com.ecommerce.productorder.model.dto.response.AuthResponse;
+import com.ecommerce.productorder.model.dto.request.BulkRegisterRequest;
 import com.ecommerce.productorder.model.dto.request.LoginRequest;
 import com.ecommerce.productorder.model.dto.request.RegisterRequest;
 import com.ecommerce.productorder.model.enums.UserRole;
@@ -11,11 +12,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -79,4 +83,40 @@ class AuthIntegrationTest {
                         .content(objectMapper.writeValueAsString(registerRequest)))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    @DisplayName("Should bulk register valid users and report invalid and duplicate rows")
+    void testBulkRegister() throws Exception {
+        BulkRegisterRequest bulkRequest = BulkRegisterRequest.builder()
+                .users(List.of(
+                        bulkUser("bulkuser1", "bulk1@example.com"),
+                        bulkUser("admin", "bulk2@example.com"),
+                        bulkUser("bulkuser3", "invalid-email"),
+                        bulkUser("bulkuser1", "bulk4@example.com"),
+                        bulkUser("bulkuser5", "bulk5@example.com")))
+                .build();
+
+        mockMvc.perform(post("/api/users/bulk-register")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(bulkRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.failed").value(3))
+                .andExpect(jsonPath("$.results[0].created").value(true))
+                .andExpect(jsonPath("$.results[0].userId").isNumber())
+                .andExpect(jsonPath("$.results[1].error").value("User already exists with username: 'admin'"))
+                .andExpect(jsonPath("$.results[2].error").value("Email should be valid"))
+                .andExpect(jsonPath("$.results[3].error").value("User already exists with username: 'bulkuser1'"))
+                .andExpect(jsonPath("$.results[4].created").value(true));
+    }
+
+    private static RegisterRequest bulkUser(String username, String email) {
+        return RegisterRequest.builder()
+                .username(username)
+                .email(email)
+                .password("password123")
+                .role(UserRole.USER.name())
+                .build();
+    }
 }
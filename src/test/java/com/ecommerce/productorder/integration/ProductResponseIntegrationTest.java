@@ -0,0 +1,197 @@
+package com.ecommerce.productorder.integration;
+
+import com.ecommerce.productorder.cache.PreparedProductResponses;
+import com.ecommerce.productorder.config.PreparedResponseProperties;
+import com.ecommerce.productorder.model.dto.request.OrderItemRequest;
+import com.ecommerce.productorder.model.dto.request.OrderRequest;
+import com.ecommerce.productorder.model.entity.Product;
+import com.ecommerce.productorder.model.entity.User;
+import com.ecommerce.productorder.repository.ProductRepository;
+import com.ecommerce.productorder.repository.UserRepository;
+import com.ecommerce.productorder.service.OrderService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+@DisplayName("Product Response Integration Tests")
+class ProductResponseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PreparedResponseProperties preparedResponseProperties;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        Product product = Product.builder()
+                .name("Prepared response")
+                .description("Long enough to be gzip-compressed. ".repeat(20))
+                .price(new BigDecimal("24.99"))
+                .quantity(5)
+                .build();
+        product.setDeleted(false);
+        productId = new TransactionTemplate(transactionManager).execute(status -> productRepository.save(product).getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        preparedResponseProperties.setEnabled(true);
+    }
+
+    @Test
+    @DisplayName("Should answer 304 when If-None-Match holds the current ETag")
+    void testNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/products/{id}", productId))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/api/products/{id}", productId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+        mockMvc.perform(get("/api/products/{id}", productId).header(HttpHeaders.IF_NONE_MATCH, "\"stale\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("Should serve the new stock with a new ETag once an order for the product commits")
+    void testOrderEvictsCachedProduct() throws Exception {
+        MvcResult before = mockMvc.perform(get("/api/products/{id}", productId))
+                .andExpect(status().isOk())
+                .andReturn();
+        String etag = before.getResponse().getHeader(HttpHeaders.ETAG);
+        assertEquals(5, objectMapper.readTree(before.getResponse().getContentAsByteArray()).get("quantity").asInt());
+
+        placeOrder(2);
+
+        MvcResult after = mockMvc.perform(get("/api/products/{id}", productId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertEquals(3, objectMapper.readTree(after.getResponse().getContentAsByteArray()).get("quantity").asInt());
+        assertNotEquals(etag, after.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    @DisplayName("Should send the precompressed body with its own ETag to clients that accept gzip")
+    void testGzip() throws Exception {
+        MvcResult identity = mockMvc.perform(get("/api/products/{id}", productId))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn();
+        MvcResult gzip = mockMvc.perform(get("/api/products/{id}", productId)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn();
+
+        byte[] body = identity.getResponse().getContentAsByteArray();
+        byte[] compressed = gzip.getResponse().getContentAsByteArray();
+        assertTrue(compressed.length < body.length);
+        assertArrayEquals(body, gunzip(compressed));
+        assertNotEquals(identity.getResponse().getHeader(HttpHeaders.ETAG), gzip.getResponse().getHeader(HttpHeaders.ETAG));
+
+        mockMvc.perform(get("/api/products/{id}", productId)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    @DisplayName("Should serve the same response without caching the bytes when prepared responses are disabled")
+    void testPreparedResponsesDisabled() throws Exception {
+        preparedResponseProperties.setEnabled(false);
+
+        MvcResult result = mockMvc.perform(get("/api/products/{id}", productId)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn();
+        JsonNode product = objectMapper.readTree(gunzip(result.getResponse().getContentAsByteArray()));
+        assertEquals(productId, product.get("id").asLong());
+        assertNull(cacheManager.getCache(PreparedProductResponses.CACHE_NAME).get(productId));
+
+        mockMvc.perform(get("/api/products/{id}", productId)
+                        .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                        .header(HttpHeaders.IF_NONE_MATCH, result.getResponse().getHeader(HttpHeaders.ETAG)))
+                .andExpect(status().isNotModified());
+    }
+
+    private void placeOrder(int quantity) {
+        User customer = new TransactionTemplate(transactionManager).execute(status ->
+                userRepository.findByUsername("regularuser").orElseThrow());
+        SecurityContext previous = SecurityContextHolder.getContext();
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new UsernamePasswordAuthenticationToken(customer, null, customer.getAuthorities()));
+        SecurityContextHolder.setContext(context);
+        try {
+            orderService.createOrder(new OrderRequest(List.of(new OrderItemRequest(productId, quantity))));
+        } finally {
+            SecurityContextHolder.setContext(previous);
+        }
+    }
+
+    private static byte[] gunzip(byte[] compressed) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return gzip.readAllBytes();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.productorder.integration;
+
+import com.ecommerce.productorder.model.dto.request.LoginRequest;
+import com.ecommerce.productorder.model.dto.request.RegisterRequest;
+import com.ecommerce.productorder.model.enums.UserRole;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Routes read-only transactions to a separate in-memory database standing in for a replica. It never receives
+ * the writes, as a replica that lags behind would not have them yet.
+ */
+@SpringBootTest(properties = {
+        "datasource.routing.enabled=true",
+        "datasource.routing.replicas[0].url=jdbc:h2:mem:auth-replica;DB_CLOSE_DELAY=-1",
+        "datasource.routing.replicas[0].username=sa",
+        "datasource.routing.replicas[0].initialize=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Replica Authentication Integration Tests")
+class ReplicaAuthenticationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("Should log in right after being registered by an admin, reading the user from the primary")
+    void testLoginAfterRegisterReadsPrimary() throws Exception {
+        RegisterRequest registerRequest = RegisterRequest.builder()
+                .username("replicauser")
+                .email("replicauser@example.com")
+                .password("password123")
+                .role(UserRole.USER.name())
+                .build();
+        mockMvc.perform(post("/api/users/register")
+                        .with(user("admin").roles("ADMIN"))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(registerRequest)))
+                .andExpect(status().isCreated());
+        double replicaReads = replicaReads();
+
+        LoginRequest loginRequest = LoginRequest.builder()
+                .username("replicauser")
+                .password("password123")
+                .build();
+        mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").exists());
+
+        assertEquals(replicaReads, replicaReads());
+    }
+
+    private double replicaReads() {
+        return meterRegistry.get("datasource.routing.connections").tag("target", "replica").counter().count();
+    }
+}
@@ -0,0 +1,149 @@
+package com.ecommerce.productorder.integration;
+
+import com.ecommerce.productorder.model.entity.Product;
+import com.ecommerce.productorder.model.entity.User;
+import com.ecommerce.productorder.model.enums.UserRole;
+import com.ecommerce.productorder.repository.ProductRepository;
+import com.ecommerce.productorder.repository.UserRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Second-Level Cache Integration Tests")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private UserDetailsService userDetailsService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transaction;
+    private SessionFactory sessionFactory;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        sessionFactory.getStatistics().clear();
+    }
+
+    @Test
+    @DisplayName("Should read products by id from the cache and stop returning them once soft-deleted")
+    void testProductCacheAndSoftDelete() {
+        Long id = transaction.execute(status -> productRepository.save(product()).getId());
+
+        transaction.executeWithoutResult(status -> productRepository.findById(id).orElseThrow());
+        transaction.executeWithoutResult(status -> productRepository.findById(id).orElseThrow());
+        assertTrue(regionStatistics(Product.CACHE_REGION).hits() >= 1);
+        FunctionCounter hits = meterRegistry.find("hibernate.second.level.cache.requests")
+                .tags("region", Product.CACHE_REGION, "result", "hit").functionCounter();
+        assertNotNull(hits);
+        assertTrue(hits.count() >= 1);
+
+        transaction.executeWithoutResult(status -> productRepository.deleteById(id));
+
+        assertTrue(transaction.execute(status -> productRepository.findById(id)).isEmpty());
+        assertEquals(1, regionStatistics(Product.CACHE_REGION).misses());
+    }
+
+    @Test
+    @DisplayName("Should not fill the cache from product listings")
+    void testListingBypassesCache() {
+        transaction.executeWithoutResult(status -> productRepository.findAll(PageRequest.of(0, 20)));
+
+        assertEquals(0, regionStatistics(Product.CACHE_REGION).puts());
+    }
+
+    @Test
+    @DisplayName("Should resolve usernames through the natural-id cache")
+    void testNaturalIdCache() {
+        User first = transaction.execute(status -> userRepository.findByUsername("regularuser").orElseThrow());
+        User second = transaction.execute(status -> userRepository.findByUsername("regularuser").orElseThrow());
+
+        assertEquals(first.getId(), second.getId());
+        Statistics statistics = sessionFactory.getStatistics();
+        assertEquals(1, statistics.getNaturalIdStatistics(User.class.getName()).getCacheHitCount());
+        assertTrue(regionStatistics(User.CACHE_REGION).hits() >= 1);
+    }
+
+    @Test
+    @DisplayName("Should authenticate against the user row, not the cached user, once disabled elsewhere")
+    void testAuthenticationBypassesCache() {
+        User user = transaction.execute(status -> userRepository.save(User.builder()
+                .username("cacheduser")
+                .email("cacheduser@example.com")
+                .password("{noop}secret")
+                .role(UserRole.USER)
+                .enabled(true)
+                .build()));
+        transaction.executeWithoutResult(status -> userRepository.findByUsername("cacheduser").orElseThrow());
+        transaction.executeWithoutResult(status -> userRepository.findByUsername("cacheduser").orElseThrow());
+        assertTrue(regionStatistics(User.CACHE_REGION).hits() >= 1);
+
+        // Another instance disables the account; this instance's regions still hold it as enabled
+        jdbcTemplate.update("UPDATE users SET enabled = false WHERE id = ?", user.getId());
+
+        assertTrue(transaction.execute(status -> userRepository.findByUsername("cacheduser").orElseThrow()).isEnabled());
+        UserDetails authenticated = userDetailsService.loadUserByUsername("cacheduser");
+        assertFalse(authenticated.isEnabled());
+    }
+
+    private RegionCounts regionStatistics(String region) {
+        var statistics = sessionFactory.getStatistics().getDomainDataRegionStatistics(region);
+        return new RegionCounts(statistics.getHitCount(), statistics.getMissCount(), statistics.getPutCount());
+    }
+
+    private record RegionCounts(long hits, long misses, long puts) {
+    }
+
+    private static Product product() {
+        Product product = Product.builder()
+                .name("Cached product")
+                .description("Second-level cache test")
+                .price(new BigDecimal("9.99"))
+                .quantity(3)
+                .build();
+        product.setDeleted(false);
+        return product;
+    }
+}
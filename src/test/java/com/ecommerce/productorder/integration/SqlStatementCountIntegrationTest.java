@@ -0,0 +1,169 @@
+package com.ecommerce.productorder.integration;
+
+import com.ecommerce.productorder.model.dto.request.LoginRequest;
+import com.ecommerce.productorder.model.entity.Product;
+import com.ecommerce.productorder.model.entity.User;
+import com.ecommerce.productorder.model.enums.UserRole;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.ecommerce.productorder.integration.SqlStatementMatchers.maxSqlStatements;
+import static com.ecommerce.productorder.integration.SqlStatementMatchers.noRepeatedSqlStatements;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@DisplayName("SQL Statement Count Integration Tests")
+class SqlStatementCountIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private String bearerToken;
+
+    @BeforeEach
+    void login() throws Exception {
+        LoginRequest loginRequest = LoginRequest.builder()
+                .username("premiumuser")
+                .password("password123")
+                .build();
+        String response = mockMvc.perform(post("/api/users/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loginRequest)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        bearerToken = "Bearer " + objectMapper.readTree(response).get("token").asText();
+    }
+
+    @Test
+    @DisplayName("Should list products with a bounded number of statements")
+    void testListProducts() throws Exception {
+        mockMvc.perform(get("/api/products").header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isOk())
+                .andExpect(maxSqlStatements(2))
+                .andExpect(noRepeatedSqlStatements());
+    }
+
+    @Test
+    @DisplayName("Should place and list orders without N+1 queries")
+    void testOrders() throws Exception {
+        mockMvc.perform(post("/api/orders")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"productId\":1,\"quantity\":1},{\"productId\":2,\"quantity\":1}]}"))
+                .andExpect(status().isCreated())
+                .andExpect(maxSqlStatements(8))
+                .andExpect(noRepeatedSqlStatements());
+        // The test transaction spans both requests, so flush the order's batched inserts here rather than on the next query
+        entityManager.flush();
+
+        mockMvc.perform(get("/api/orders/my-orders").header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isOk())
+                .andExpect(maxSqlStatements(3))
+                .andExpect(noRepeatedSqlStatements());
+    }
+
+    @Test
+    @DisplayName("Should answer an unchanged order with 304 from a single query")
+    void testOrderNotModified() throws Exception {
+        String created = mockMvc.perform(post("/api/orders")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"productId\":1,\"quantity\":1}]}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long orderId = objectMapper.readTree(created).get("id").asLong();
+        entityManager.flush();
+        entityManager.clear();
+
+        String etag = mockMvc.perform(get("/api/orders/{id}", orderId).header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        entityManager.clear();
+
+        mockMvc.perform(get("/api/orders/{id}", orderId)
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(maxSqlStatements(1));
+    }
+
+    /**
+     * Guards against the audit columns loading users again, as they did while mapped as User associations:
+     * Hibernate then loaded or initialized the auditor whenever it flushed an audited insert or update.
+     */
+    @Test
+    @DisplayName("Should write and read audit ids without loading the audit users")
+    void testAuditUsersNotLoaded() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        mockMvc.perform(post("/api/orders")
+                        .header(HttpHeaders.AUTHORIZATION, bearerToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"items\":[{\"productId\":1,\"quantity\":1},{\"productId\":3,\"quantity\":1}]}"))
+                .andExpect(status().isCreated());
+        entityManager.flush();
+        assertEquals(Boolean.TRUE, entityManager.createNativeQuery("SELECT o.created_by_id = u.id AND o.updated_by_id = u.id "
+                + "FROM orders o JOIN users u ON u.username = 'premiumuser' ORDER BY o.id DESC LIMIT 1").getSingleResult());
+
+        // An audited update flushed on behalf of a principal built from token claims, as the JWT filter does
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                User.builder().id(1L).username("admin").role(UserRole.ADMIN).build(), null, List.of()));
+        try {
+            Product product = entityManager.find(Product.class, 2L);
+            product.setDescription("Audited update");
+            entityManager.flush();
+            assertEquals(1L, product.getUpdatedById());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        mockMvc.perform(get("/api/orders/my-orders").header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isOk())
+                .andExpect(maxSqlStatements(3));
+        mockMvc.perform(get("/api/products").header(HttpHeaders.AUTHORIZATION, bearerToken))
+                .andExpect(status().isOk())
+                .andExpect(maxSqlStatements(2));
+
+        EntityStatistics users = statistics.getEntityStatistics(User.class.getName());
+        assertEquals(0, users.getLoadCount());
+        assertEquals(0, users.getFetchCount());
+    }
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.productorder.integration;
+
+import com.ecommerce.productorder.logging.RequestProfile;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MockMvc matchers on the SQL statements a request executed, as counted by the data source proxy
+ */
+public final class SqlStatementMatchers {
+
+    private SqlStatementMatchers() {
+    }
+
+    public static ResultMatcher maxSqlStatements(int max) {
+        return result -> {
+            RequestProfile profile = profile(result.getRequest().getAttribute(RequestProfile.ATTRIBUTE));
+            assertTrue(profile.getSqlStatements() <= max, () -> "Expected at most " + max
+                    + " SQL statements for " + result.getRequest().getRequestURI() + " but " + profile.getSqlStatements() + " were executed");
+        };
+    }
+
+    public static ResultMatcher noRepeatedSqlStatements() {
+        return result -> assertEquals(0, profile(result.getRequest().getAttribute(RequestProfile.ATTRIBUTE)).getRepeatedStatements(),
+                () -> "Statements were repeated within " + result.getRequest().getRequestURI() + ", likely an N+1 query");
+    }
+
+    private static RequestProfile profile(Object attribute) {
+        assertNotNull(attribute, "Request was not profiled by LoggingFilter");
+        return (RequestProfile) attribute;
+    }
+}
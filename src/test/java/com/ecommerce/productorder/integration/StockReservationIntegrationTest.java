@@ -0,0 +1,110 @@
+package com.ecommerce.productorder.integration;
+
+import com.ecommerce.productorder.exception.InsufficientStockException;
+import com.ecommerce.productorder.model.dto.request.OrderItemRequest;
+import com.ecommerce.productorder.model.dto.request.OrderRequest;
+import com.ecommerce.productorder.model.entity.Product;
+import com.ecommerce.productorder.model.entity.User;
+import com.ecommerce.productorder.repository.ProductRepository;
+import com.ecommerce.productorder.repository.UserRepository;
+import com.ecommerce.productorder.service.OrderService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Stock Reservation Integration Tests")
+class StockReservationIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    @DisplayName("Should sell the last unit only once when two orders race for it")
+    void testConcurrentOrdersForLastUnit() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Long productId = transaction.execute(status -> productRepository.save(lastUnit()).getId());
+        // Cache the product, as an instance that served it earlier would have
+        transaction.executeWithoutResult(status -> productRepository.findById(productId).orElseThrow());
+
+        List<User> customers = transaction.execute(status -> List.of(
+                userRepository.findByUsername("regularuser").orElseThrow(),
+                userRepository.findByUsername("premiumuser").orElseThrow()));
+        CyclicBarrier start = new CyclicBarrier(customers.size());
+        ExecutorService executor = Executors.newFixedThreadPool(customers.size());
+        List<Future<?>> orders = new ArrayList<>();
+        try {
+            for (User customer : customers) {
+                orders.add(executor.submit(() -> {
+                    SecurityContextHolder.getContext().setAuthentication(
+                            new UsernamePasswordAuthenticationToken(customer, null, customer.getAuthorities()));
+                    try {
+                        start.await(5, TimeUnit.SECONDS);
+                        return orderService.createOrder(new OrderRequest(List.of(new OrderItemRequest(productId, 1))));
+                    } finally {
+                        SecurityContextHolder.clearContext();
+                    }
+                }));
+            }
+
+            int placed = 0;
+            List<Throwable> failures = new ArrayList<>();
+            for (Future<?> order : orders) {
+                try {
+                    order.get(10, TimeUnit.SECONDS);
+                    placed++;
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+
+            assertEquals(1, placed);
+            assertEquals(1, failures.size());
+            assertInstanceOf(InsufficientStockException.class, failures.get(0));
+            Integer remaining = transaction.execute(status -> productRepository.findById(productId).orElseThrow().getQuantity());
+            assertEquals(0, remaining);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Product lastUnit() {
+        Product product = Product.builder()
+                .name("Last unit")
+                .description("Stock reservation test")
+                .price(new BigDecimal("19.99"))
+                .quantity(1)
+                .build();
+        product.setDeleted(false);
+        return product;
+    }
+}
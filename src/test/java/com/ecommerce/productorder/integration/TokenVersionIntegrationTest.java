@@ -0,0 +1,100 @@
+package com.ecommerce.productorder.integration;
+
+import com.ecommerce.productorder.model.entity.User;
+import com.ecommerce.productorder.model.enums.UserRole;
+import com.ecommerce.productorder.repository.UserRepository;
+import com.ecommerce.productorder.security.TokenVersionService;
+import com.ecommerce.productorder.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Token Version Integration Tests")
+class TokenVersionIntegrationTest {
+
+    @Autowired
+    private TokenVersionService tokenVersionService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transaction;
+    private Cache cache;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        transaction = new TransactionTemplate(transactionManager);
+        cache = cacheManager.getCache(TokenVersionService.CACHE_NAME);
+        String username = "tv-" + UUID.randomUUID().toString().substring(0, 8);
+        userId = transaction.execute(status -> userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("password")
+                .role(UserRole.USER)
+                .enabled(true)
+                .tokenVersion(0)
+                .build()).getId());
+    }
+
+    @Test
+    @DisplayName("Should keep the cached version until the revocation commits")
+    void testRevokeEvictsAfterCommit() {
+        assertEquals(0, tokenVersionService.getTokenVersion(userId));
+
+        transaction.executeWithoutResult(status -> {
+            tokenVersionService.revokeTokens(userId);
+            assertNotNull(cache.get(userId), "evicted before commit");
+        });
+
+        assertNull(cache.get(userId));
+        assertEquals(1, tokenVersionService.getTokenVersion(userId));
+    }
+
+    @Test
+    @DisplayName("Should not evict the cached version when the revocation rolls back")
+    void testRollbackKeepsCachedVersion() {
+        assertEquals(0, tokenVersionService.getTokenVersion(userId));
+
+        transaction.executeWithoutResult(status -> {
+            tokenVersionService.revokeTokens(userId);
+            status.setRollbackOnly();
+        });
+
+        assertNotNull(cache.get(userId));
+        assertEquals(0, tokenVersionService.getTokenVersion(userId));
+    }
+
+    @Test
+    @DisplayName("Should evict the cached version when the user is disabled")
+    void testDisableEvicts() {
+        assertEquals(0, tokenVersionService.getTokenVersion(userId));
+
+        userService.disableUser(userId);
+
+        assertNull(cache.get(userId));
+        assertNull(tokenVersionService.getTokenVersion(userId));
+    }
+}
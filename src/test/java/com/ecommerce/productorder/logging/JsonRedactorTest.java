@@ -0,0 +1,67 @@
+package com.ecommerce.productorder.logging;
+
+import com.ecommerce.productorder.config.LoggingProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JSON Redactor Tests")
+class JsonRedactorTest {
+
+    private JsonRedactor redactor;
+
+    @BeforeEach
+    void setUp() {
+        LoggingProperties properties = new LoggingProperties();
+        properties.setSensitiveFields(List.of("password", "token", "authorization", "secret"));
+        redactor = new JsonRedactor(new ObjectMapper(), properties);
+    }
+
+    private String redact(String json) {
+        byte[] content = json.getBytes(StandardCharsets.UTF_8);
+        return redactor.redact(content, content.length, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Should match sensitive names anywhere in the name, ignoring case")
+    void testSensitiveNames() {
+        assertTrue(redactor.isSensitive("Authorization"));
+        assertTrue(redactor.isSensitive("newPassword"));
+        assertTrue(redactor.isSensitive("X-REFRESH-TOKEN"));
+        assertTrue(redactor.isSensitive("clientSecretKey"));
+        assertFalse(redactor.isSensitive("username"));
+        assertFalse(redactor.isSensitive("passwor"));
+        assertFalse(redactor.isSensitive(""));
+    }
+
+    @Test
+    @DisplayName("Should mask sensitive values at any depth and keep everything else exact")
+    void testRedaction() {
+        String redacted = redact("{\"username\":\"alice\",\"password\":\"secret1\",\"price\":1200.00,"
+                + "\"nested\":{\"Token\":{\"value\":\"abc\"},\"items\":[{\"apiSecret\":[1,2]},{\"id\":7}]}}");
+
+        assertEquals("{\"username\":\"alice\",\"password\":\"******\",\"price\":1200.00,"
+                + "\"nested\":{\"Token\":\"******\",\"items\":[{\"apiSecret\":\"******\"},{\"id\":7}]}}", redacted);
+    }
+
+    @Test
+    @DisplayName("Should close a truncated body into valid JSON without leaking partial values")
+    void testTruncatedBody() {
+        assertEquals("{\"username\":\"alice\",\"password\":\"******\"}",
+                redact("{\"username\":\"alice\",\"password\":\"sec"));
+        assertEquals("{\"items\":[{\"id\":1},{}]}", redact("{\"items\":[{\"id\":1},{\"name\":\"lap"));
+    }
+
+    @Test
+    @DisplayName("Should return null for content that is not JSON")
+    void testNotJson() {
+        assertNull(redact("plain text body"));
+        assertNull(redact(""));
+    }
+}
@@ -0,0 +1,282 @@
+package com.ecommerce.productorder.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.ecommerce.productorder.config.LoggingProperties;
+import com.ecommerce.productorder.constant.ApplicationConstant;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import net.logstash.logback.marker.SingleFieldAppendingMarker;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Logging Filter Tests")
+class LoggingFilterTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<Object> chainedResponses = new ArrayList<>();
+    private final CapturingAppender appender = new CapturingAppender();
+    private final Logger writerLogger = (Logger) LoggerFactory.getLogger(HttpLogWriter.class);
+    private LoggingProperties properties;
+    private HttpLogWriter httpLogWriter;
+    private SlowRequestRecorder slowRequestRecorder;
+    private LoggingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new LoggingProperties();
+        properties.setSensitiveFields(List.of("password", "token"));
+        // Every request counts as slow
+        properties.getSlowRequests().setThreshold(Duration.ZERO);
+        properties.getHttp().setSampleRate(0.0);
+
+        appender.setContext((LoggerContext) LoggerFactory.getILoggerFactory());
+        appender.start();
+        writerLogger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        appender.release.countDown();
+        httpLogWriter.shutdown();
+        writerLogger.detachAppender(appender);
+        appender.stop();
+    }
+
+    @Test
+    @DisplayName("Should retain unsampled slow requests with metadata only, without capturing their bodies")
+    void testUnsampledSlowRequestWithoutBodies() throws Exception {
+        createFilter();
+
+        filter.doFilter(loginRequest(), new MockHttpServletResponse(), chain());
+
+        assertInstanceOf(MockHttpServletResponse.class, chainedResponses.get(0), "response was wrapped");
+        SlowRequestRecorder.SlowRequest slow = slowRequestRecorder.getSlowest(1).get(0);
+        assertEquals("/api/users/login", slow.uri());
+        assertNull(slow.requestBody());
+        assertNull(slow.responseBody());
+    }
+
+    @Test
+    @DisplayName("Should capture the bodies of unsampled requests when slow requests keep bodies")
+    void testUnsampledSlowRequestWithBodies() throws Exception {
+        properties.getSlowRequests().setCaptureBodies(true);
+        createFilter();
+
+        filter.doFilter(loginRequest(), new MockHttpServletResponse(), chain());
+
+        assertInstanceOf(TeeResponseWrapper.class, chainedResponses.get(0));
+        SlowRequestRecorder.SlowRequest slow = slowRequestRecorder.getSlowest(1).get(0);
+        assertEquals("{\"username\":\"admin\",\"password\":\"******\"}", slow.requestBody());
+        assertEquals("{\"token\":\"******\"}", slow.responseBody());
+    }
+
+    @Test
+    @DisplayName("Should keep only the body written after the response was reset")
+    void testCaptureDiscardedOnReset() throws Exception {
+        properties.getSlowRequests().setCaptureBodies(true);
+        createFilter();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(loginRequest(), response, (request, wrapped) -> {
+            wrapped.setContentType("application/json");
+            wrapped.getOutputStream().write("{\"token\":".getBytes(StandardCharsets.UTF_8));
+            wrapped.resetBuffer();
+            wrapped.getOutputStream().write("{\"partial\":".getBytes(StandardCharsets.UTF_8));
+            // As error handling does after a partial write
+            wrapped.reset();
+            wrapped.setContentType("application/json");
+            wrapped.getOutputStream().write("{\"error\":\"failed\"}".getBytes(StandardCharsets.UTF_8));
+        });
+
+        assertEquals("{\"error\":\"failed\"}", response.getContentAsString());
+        assertEquals("{\"error\":\"failed\"}", slowRequestRecorder.getSlowest(1).get(0).responseBody());
+    }
+
+    @Test
+    @DisplayName("Should log the routes with their own sample rate, first matching pattern first")
+    void testRouteSampleRates() throws Exception {
+        properties.getHttp().getRouteSampleRates().put("/api/users/**", 1.0);
+        properties.getHttp().getRouteSampleRates().put("/api/**", 0.0);
+        createFilter();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), new MockHttpServletResponse(), chain());
+        filter.doFilter(loginRequest(), new MockHttpServletResponse(), chain());
+        httpLogWriter.shutdown();
+
+        assertEquals(List.of("/api/users/login", "/api/users/login"),
+                appender.events.stream().map(event -> argument(event).get("url").asText().replace("http://localhost", "")).toList());
+    }
+
+    @Test
+    @DisplayName("Should log nothing in OFF mode and still assign a correlation ID")
+    void testOffMode() throws Exception {
+        properties.getHttp().setMode(LoggingProperties.HttpLogMode.OFF);
+        properties.getHttp().setSampleRate(1.0);
+        createFilter();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(loginRequest(), response, chain());
+        httpLogWriter.shutdown();
+
+        assertNotNull(response.getHeader(ApplicationConstant.CORRELATION_ID_HEADER));
+        assertTrue(appender.events.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should log metadata without bodies in METADATA mode")
+    void testMetadataMode() throws Exception {
+        properties.getHttp().setMode(LoggingProperties.HttpLogMode.METADATA);
+        properties.getHttp().setSampleRate(1.0);
+        createFilter();
+
+        filter.doFilter(loginRequest(), new MockHttpServletResponse(), chain());
+
+        JsonNode request = argument(appender.next());
+        JsonNode response = argument(appender.next());
+        assertEquals("POST", request.get("method").asText());
+        assertEquals(200, response.get("status").asInt());
+        assertFalse(request.has("body"));
+        assertFalse(response.has("body"));
+    }
+
+    @Test
+    @DisplayName("Should log bodies in FULL mode, masked on the log writer thread")
+    void testFullModeMasksOnWriterThread() throws Exception {
+        properties.getHttp().setMode(LoggingProperties.HttpLogMode.FULL);
+        properties.getHttp().setSampleRate(1.0);
+        createFilter();
+        String filterThread = Thread.currentThread().getName();
+
+        filter.doFilter(loginRequest(), new MockHttpServletResponse(), chain());
+
+        ILoggingEvent requestEvent = appender.next();
+        ILoggingEvent responseEvent = appender.next();
+        assertTrue(requestEvent.getThreadName().startsWith("http-log-"));
+        assertNotEquals(filterThread, requestEvent.getThreadName());
+        assertEquals("{\"username\":\"admin\",\"password\":\"******\"}", argument(requestEvent).get("body").toString());
+        assertEquals("{\"token\":\"******\"}", argument(responseEvent).get("body").toString());
+    }
+
+    @Test
+    @DisplayName("Should drop and count entries once the log writer queue is full, without blocking requests")
+    void testQueueFullDrops() throws Exception {
+        properties.getHttp().setSampleRate(1.0);
+        properties.getHttp().setQueueCapacity(1);
+        createFilter();
+        appender.block = true;
+
+        // The writer thread blocks on the first entry, the second waits in the queue and the rest are dropped
+        filter.doFilter(loginRequest(), new MockHttpServletResponse(), chain());
+        assertTrue(appender.blocked.await(5, TimeUnit.SECONDS));
+        for (int i = 0; i < 3; i++) {
+            filter.doFilter(loginRequest(), new MockHttpServletResponse(), chain());
+        }
+
+        assertEquals(2, meterRegistry.get("http.log.dropped").counter().count());
+        assertEquals(1, meterRegistry.get("http.log.queue.depth").gauge().value());
+    }
+
+    private void createFilter() {
+        JsonRedactor jsonRedactor = new JsonRedactor(new ObjectMapper(), properties);
+        httpLogWriter = new HttpLogWriter(jsonRedactor, properties, meterRegistry);
+        slowRequestRecorder = new SlowRequestRecorder(properties, jsonRedactor);
+        filter = new LoggingFilter();
+        ReflectionTestUtils.setField(filter, "loggingProperties", properties);
+        ReflectionTestUtils.setField(filter, "httpLogWriter", httpLogWriter);
+        ReflectionTestUtils.setField(filter, "jsonRedactor", jsonRedactor);
+        ReflectionTestUtils.setField(filter, "slowRequestRecorder", slowRequestRecorder);
+        ReflectionTestUtils.setField(filter, "requestProfileMetrics", new RequestProfileMetrics(meterRegistry));
+    }
+
+    private static MockHttpServletRequest loginRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/users/login");
+        request.setContentType("application/json");
+        request.setContent("{\"username\":\"admin\",\"password\":\"secret\"}".getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+
+    /**
+     * Reads the request body, as a controller would, and answers with a JSON body
+     */
+    private FilterChain chain() {
+        return (request, response) -> {
+            chainedResponses.add(response);
+            request.getInputStream().readAllBytes();
+            response.setContentType("application/json");
+            response.getOutputStream().write("{\"token\":\"abc\"}".getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    /**
+     * Value of the structured argument of a log entry, as the JSON encoder writes it
+     */
+    private static JsonNode argument(ILoggingEvent event) {
+        StringWriter json = new StringWriter();
+        try (JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(json)) {
+            generator.writeStartObject();
+            ((SingleFieldAppendingMarker) event.getArgumentArray()[0]).writeTo(generator);
+            generator.writeEndObject();
+            generator.flush();
+            return OBJECT_MAPPER.readTree(json.toString()).elements().next();
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class CapturingAppender extends AppenderBase<ILoggingEvent> {
+
+        private final BlockingQueue<ILoggingEvent> events = new LinkedBlockingQueue<>();
+        private final CountDownLatch blocked = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+        private volatile boolean block;
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            // Fix the thread name and MDC now, as they are otherwise read lazily on the test thread
+            event.prepareForDeferredProcessing();
+            events.add(event);
+            if (block) {
+                blocked.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        private ILoggingEvent next() throws InterruptedException {
+            ILoggingEvent event = events.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event, "nothing logged");
+            return event;
+        }
+    }
+}
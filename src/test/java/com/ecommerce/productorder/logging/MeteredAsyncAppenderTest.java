@@ -0,0 +1,79 @@
+package com.ecommerce.productorder.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Metered Async Appender Tests")
+class MeteredAsyncAppenderTest {
+
+    @Test
+    @DisplayName("Should discard INFO but keep ERROR when the queue is nearly full")
+    void testDiscardsOnlyLowLevelsUnderPressure() throws Exception {
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        BlockingAppender delegate = new BlockingAppender();
+        delegate.setContext(context);
+        delegate.setName("BLOCKING");
+        delegate.start();
+
+        MeteredAsyncAppender appender = new MeteredAsyncAppender();
+        appender.setContext(context);
+        appender.setName("ASYNC_TEST");
+        appender.setQueueSize(10);
+        appender.setDiscardingThreshold(5);
+        appender.addAppender(delegate);
+        appender.start();
+
+        // The worker takes the first event and blocks in the delegate, leaving the queue empty
+        appender.doAppend(event(context, Level.INFO, "first"));
+        assertTrue(delegate.firstReceived.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < 6; i++) {
+            appender.doAppend(event(context, Level.INFO, "queued-" + i));
+        }
+        appender.doAppend(event(context, Level.INFO, "discarded"));
+        appender.doAppend(event(context, Level.ERROR, "kept"));
+
+        delegate.release.countDown();
+        appender.stop();
+
+        assertEquals(1, appender.getDiscardedCount());
+        assertEquals(8, delegate.messages.size());
+        assertFalse(delegate.messages.contains("discarded"));
+        assertEquals("kept", delegate.messages.get(7));
+    }
+
+    private static ILoggingEvent event(LoggerContext context, Level level, String message) {
+        return new LoggingEvent(MeteredAsyncAppenderTest.class.getName(), context.getLogger("test"), level, message, null, null);
+    }
+
+    private static class BlockingAppender extends AppenderBase<ILoggingEvent> {
+
+        private final List<String> messages = new CopyOnWriteArrayList<>();
+        private final CountDownLatch firstReceived = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            messages.add(event.getMessage());
+            firstReceived.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
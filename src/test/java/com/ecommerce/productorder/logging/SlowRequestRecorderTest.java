@@ -0,0 +1,75 @@
+package com.ecommerce.productorder.logging;
+
+import com.ecommerce.productorder.config.LoggingProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Slow Request Recorder Tests")
+class SlowRequestRecorderTest {
+
+    private SlowRequestRecorder recorder;
+
+    @BeforeEach
+    void setUp() {
+        LoggingProperties properties = new LoggingProperties();
+        properties.setSensitiveFields(List.of("password"));
+        properties.getSlowRequests().setCapacity(3);
+        properties.getSlowRequests().setThreshold(Duration.ofSeconds(1));
+        properties.getSlowRequests().getRouteThresholds().put("/api/orders/**", Duration.ofMillis(200));
+        recorder = new SlowRequestRecorder(properties, new JsonRedactor(new ObjectMapper(), properties));
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestProfile.clear();
+    }
+
+    @Test
+    @DisplayName("Should retain requests over the route threshold and 5xx responses")
+    void testShouldRecord() {
+        assertTrue(recorder.shouldRecord("/api/orders/1", 200, millis(250)));
+        assertFalse(recorder.shouldRecord("/api/products/1", 200, millis(250)));
+        assertTrue(recorder.shouldRecord("/api/products/1", 200, millis(1000)));
+        assertTrue(recorder.shouldRecord("/api/products/1", 503, millis(5)));
+        assertFalse(recorder.shouldRecord("/api/products/1", 404, millis(5)));
+    }
+
+    @Test
+    @DisplayName("Should overwrite the oldest entries and list the slowest first with redacted bodies")
+    void testRingBuffer() {
+        for (int duration : new int[]{1500, 1200, 3000, 2000}) {
+            record("/api/products", duration);
+        }
+
+        List<SlowRequestRecorder.SlowRequest> slowest = recorder.getSlowest(10);
+
+        assertEquals(4, recorder.getRecordedCount());
+        assertEquals(List.of(3000L, 2000L, 1200L), slowest.stream().map(SlowRequestRecorder.SlowRequest::durationMs).toList());
+        assertEquals("{\"username\":\"admin\",\"password\":\"******\"}", slowest.get(0).requestBody());
+        assertEquals("SLOW", slowest.get(0).reason());
+        assertEquals(1, recorder.getSlowest(1).size());
+    }
+
+    private void record(String uri, int durationMs) {
+        byte[] body = "{\"username\":\"admin\",\"password\":\"secret\"}".getBytes(StandardCharsets.UTF_8);
+        recorder.record(Instant.now(), "correlation-id", "POST", uri, uri, 200, millis(durationMs),
+                RequestProfile.start(), Map.of(), new HttpLogWriter.Body(body, StandardCharsets.UTF_8, body.length, false),
+                null);
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
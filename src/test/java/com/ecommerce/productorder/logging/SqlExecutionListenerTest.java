@@ -0,0 +1,56 @@
+package com.ecommerce.productorder.logging;
+
+import com.ecommerce.productorder.config.LoggingProperties;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SQL Execution Listener Tests")
+class SqlExecutionListenerTest {
+
+    @AfterEach
+    void tearDown() {
+        RequestProfile.clear();
+    }
+
+    @Test
+    @DisplayName("Should count statements and time per request and report repeated statements once")
+    void testRepeatedStatements() {
+        LoggingProperties properties = new LoggingProperties();
+        properties.getSql().setRepeatedStatementThreshold(3);
+        SqlExecutionListener listener = new SqlExecutionListener(properties);
+        RequestProfile profile = RequestProfile.start();
+
+        for (int i = 0; i < 5; i++) {
+            execute(listener, "select * from products where id=?", 2);
+        }
+        execute(listener, "select * from orders where user_id=?", 4);
+
+        assertEquals(6, profile.getSqlStatements());
+        assertEquals(14_000_000L, profile.getSqlNanos());
+        assertEquals(1, profile.getRepeatedStatements());
+    }
+
+    @Test
+    @DisplayName("Should ignore statements executed outside of a request")
+    void testOutsideRequest() {
+        SqlExecutionListener listener = new SqlExecutionListener(new LoggingProperties());
+
+        assertDoesNotThrow(() -> execute(listener, "select 1", 1));
+        assertNull(RequestProfile.current());
+    }
+
+    private static void execute(SqlExecutionListener listener, String sql, long elapsedMs) {
+        ExecutionInfo executionInfo = new ExecutionInfo();
+        executionInfo.setElapsedTime(elapsedMs);
+        List<QueryInfo> queries = List.of(new QueryInfo(sql));
+        listener.beforeQuery(executionInfo, queries);
+        listener.afterQuery(executionInfo, queries);
+    }
+}
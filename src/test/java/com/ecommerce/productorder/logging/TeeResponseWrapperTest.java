@@ -0,0 +1,44 @@
+package com.ecommerce.productorder.logging;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Tee Response Wrapper Tests")
+class TeeResponseWrapperTest {
+
+    @Test
+    @DisplayName("Should pass the whole body through and capture only up to the limit")
+    void testCaptureLimit() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        TeeResponseWrapper wrapper = new TeeResponseWrapper(response, 4);
+        wrapper.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        wrapper.getOutputStream().write("0123456789".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("0123456789", response.getContentAsString());
+        assertEquals("0123", new String(wrapper.getCapturedBody(), StandardCharsets.UTF_8));
+        assertEquals(10, wrapper.getTotalSize());
+        assertTrue(wrapper.isTruncated());
+    }
+
+    @Test
+    @DisplayName("Should not capture streaming responses")
+    void testStreamingNotCaptured() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        TeeResponseWrapper wrapper = new TeeResponseWrapper(response, 1024);
+        wrapper.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+
+        wrapper.getWriter().write("data: hello\n\n");
+        wrapper.flushWriter();
+
+        assertEquals("data: hello\n\n", response.getContentAsString());
+        assertEquals(0, wrapper.getCapturedBody().length);
+        assertFalse(wrapper.isTruncated());
+    }
+}
@@ -0,0 +1,80 @@
+package com.ecommerce.productorder.metrics;
+
+import com.ecommerce.productorder.config.MetricsConfig;
+import com.ecommerce.productorder.config.SloProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SLO Endpoint Tests")
+class SloEndpointTest {
+
+    private MeterRegistry registry;
+    private SloEndpoint endpoint;
+
+    @BeforeEach
+    void setUp() {
+        SloProperties properties = new SloProperties();
+        properties.getDefaults().setLatencyThreshold(Duration.ofMillis(500));
+        properties.getDefaults().setTarget(0.9);
+        SloProperties.Objective orders = new SloProperties.Objective();
+        orders.setLatencyThreshold(Duration.ofMillis(100));
+        orders.setTarget(0.5);
+        properties.getRoutes().put("/api/orders/**", orders);
+
+        registry = new SimpleMeterRegistry();
+        registry.config().meterFilter(new MetricsConfig().sloBucketsMeterFilter(properties));
+        endpoint = new SloEndpoint(registry, properties);
+    }
+
+    @Test
+    @DisplayName("Should count server errors and requests over the route threshold against the error budget")
+    void testErrorBudget() {
+        record("GET", "/api/products", "SUCCESS", "200", 100, 17);
+        record("GET", "/api/products", "SUCCESS", "200", 800, 1);
+        record("GET", "/api/products", "SERVER_ERROR", "500", 10, 1);
+        record("GET", "/api/products", "CLIENT_ERROR", "404", 10, 1);
+        record("POST", "/api/orders", "SUCCESS", "201", 200, 1);
+        record("GET", "/actuator/health", "SUCCESS", "200", 10, 1);
+
+        List<Map<String, Object>> routes = routes();
+
+        assertEquals(2, routes.size());
+        Map<String, Object> products = routes.get(0);
+        assertEquals("GET /api/products", products.get("route"));
+        assertEquals(20L, products.get("requests"));
+        assertEquals(1L, products.get("serverErrors"));
+        assertEquals(1L, products.get("slowRequests"));
+        assertEquals(0.9, (double) products.get("attainment"), 1e-9);
+        assertEquals(1.0, (double) products.get("errorBudgetConsumed"), 1e-9);
+
+        Map<String, Object> orders = routes.get(1);
+        assertEquals("POST /api/orders", orders.get("route"));
+        assertEquals(100L, orders.get("latencyThresholdMs"));
+        assertEquals(1L, orders.get("slowRequests"));
+        assertEquals(2.0, (double) orders.get("errorBudgetConsumed"), 1e-9);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> routes() {
+        return (List<Map<String, Object>>) endpoint.slo().get("routes");
+    }
+
+    private void record(String method, String uri, String outcome, String status, long millis, int times) {
+        Timer timer = Timer.builder("http.server.requests")
+                .tags("method", method, "uri", uri, "outcome", outcome, "status", status)
+                .register(registry);
+        for (int i = 0; i < times; i++) {
+            timer.record(Duration.ofMillis(millis));
+        }
+    }
+}
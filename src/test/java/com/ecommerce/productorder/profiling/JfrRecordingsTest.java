@@ -0,0 +1,63 @@
+package com.ecommerce.productorder.profiling;
+
+import com.ecommerce.productorder.config.ProfilingProperties;
+import jdk.jfr.RecordingState;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JFR Recordings Tests")
+class JfrRecordingsTest {
+
+    private JfrRecordings recordings;
+
+    @BeforeEach
+    void setUp() {
+        ProfilingProperties properties = new ProfilingProperties();
+        properties.setMaxDuration(Duration.ofMinutes(1));
+        properties.setMaxRetained(1);
+        recordings = new JfrRecordings(properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        recordings.closeAll();
+    }
+
+    @Test
+    @DisplayName("Should cap the duration and allow only one running recording")
+    void testSingleBoundedRecording() {
+        JfrRecordings.RecordingInfo info = recordings.start(JfrPreset.CPU, Duration.ofHours(1));
+
+        assertEquals(RecordingState.RUNNING, info.state());
+        assertEquals(Duration.ofMinutes(1), info.duration());
+        assertThrows(IllegalStateException.class, () -> recordings.start(JfrPreset.LOCKS, null));
+    }
+
+    @Test
+    @DisplayName("Should dump a stopped recording and keep only the configured number of finished ones")
+    void testDumpAndRetention() throws Exception {
+        long first = recordings.start(JfrPreset.ALLOCATION, null).id();
+        assertEquals(RecordingState.STOPPED, recordings.stop(first).state());
+
+        Path file = recordings.dump(first);
+        try {
+            assertTrue(Files.size(file) > 0);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+
+        long second = recordings.start(JfrPreset.CPU, null).id();
+
+        assertEquals(1, recordings.list().size());
+        assertEquals(second, recordings.list().get(0).id());
+        assertNull(recordings.stop(first));
+    }
+}
@@ -0,0 +1,109 @@
+package com.ecommerce.productorder.security;
+
+import com.ecommerce.productorder.model.entity.User;
+import com.ecommerce.productorder.model.enums.UserRole;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JWT Authentication Filter Tests")
+class JwtAuthenticationFilterTest {
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private TokenVersionService tokenVersionService;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    private JwtUtil jwtUtil;
+    private JwtAuthenticationFilter filter;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 60_000L);
+        ReflectionTestUtils.setField(jwtUtil, "statelessAuthentication", true);
+        jwtUtil.init();
+        filter = new JwtAuthenticationFilter(jwtUtil, userDetailsService, tokenVersionService, tokenRevocationService);
+
+        user = User.builder()
+                .id(7L)
+                .username("testuser")
+                .email("test@example.com")
+                .password("password")
+                .role(UserRole.PREMIUM_USER)
+                .enabled(true)
+                .tokenVersion(3)
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private void filterWithToken(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    @Test
+    @DisplayName("Should build the principal from token claims without loading the user")
+    void testStatelessAuthentication() throws Exception {
+        when(tokenVersionService.getTokenVersion(7L)).thenReturn(3);
+
+        filterWithToken(jwtUtil.generateToken(user));
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        User principal = (User) authentication.getPrincipal();
+        assertEquals(7L, principal.getId());
+        assertEquals(UserRole.PREMIUM_USER, principal.getRole());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("Should reject a token whose version has been revoked")
+    void testRevokedTokenVersion() throws Exception {
+        when(tokenVersionService.getTokenVersion(7L)).thenReturn(4);
+
+        filterWithToken(jwtUtil.generateToken(user));
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+    }
+
+    @Test
+    @DisplayName("Should reject a token whose id has been revoked")
+    void testRevokedTokenId() throws Exception {
+        String token = jwtUtil.generateToken(user);
+        when(tokenRevocationService.isRevoked(jwtUtil.extractAllClaims(token).getId())).thenReturn(true);
+
+        filterWithToken(token);
+
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        verify(tokenVersionService, never()).getTokenVersion(anyLong());
+    }
+}
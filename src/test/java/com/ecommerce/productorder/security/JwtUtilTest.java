@@ -0,0 +1,63 @@
+package com.ecommerce.productorder.security;
+
+import com.ecommerce.productorder.model.entity.User;
+import com.ecommerce.productorder.model.enums.UserRole;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("JWT Util Tests")
+class JwtUtilTest {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    private final User user = User.builder()
+            .id(7L)
+            .username("testuser")
+            .role(UserRole.USER)
+            .enabled(true)
+            .tokenVersion(0)
+            .build();
+
+    private static JwtUtil jwtUtil(long expiration, int cacheSize) {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", expiration);
+        ReflectionTestUtils.setField(jwtUtil, "verifiedTokenCacheSize", cacheSize);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    @Test
+    @DisplayName("Should return the same verified claims for repeated lookups of a token")
+    void testCachesVerifiedClaims() {
+        JwtUtil jwtUtil = jwtUtil(60_000, 100);
+        String token = jwtUtil.generateToken(user);
+
+        Claims claims = jwtUtil.extractAllClaims(token);
+
+        assertEquals("testuser", claims.getSubject());
+        assertEquals(7L, claims.get(JwtUtil.CLAIM_USER_ID, Long.class));
+        assertSame(claims, jwtUtil.extractAllClaims(token));
+        assertTrue(jwtUtil.validateToken(token, user));
+    }
+
+    @Test
+    @DisplayName("Should reject expired and tampered tokens")
+    void testRejectsInvalidTokens() {
+        JwtUtil jwtUtil = jwtUtil(-1_000, 100);
+        String expired = jwtUtil.generateToken(user);
+
+        assertThrows(ExpiredJwtException.class, () -> jwtUtil.extractAllClaims(expired));
+
+        JwtUtil valid = jwtUtil(60_000, 100);
+        String token = valid.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+        assertThrows(SignatureException.class, () -> valid.extractAllClaims(tampered));
+    }
+}
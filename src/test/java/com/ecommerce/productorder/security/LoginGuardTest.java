@@ -0,0 +1,137 @@
+package com.ecommerce.productorder.security;
+
+import com.ecommerce.productorder.config.LoginProtectionProperties;
+import com.ecommerce.productorder.exception.TooManyRequestsException;
+import com.ecommerce.productorder.model.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Login Guard Tests")
+class LoginGuardTest {
+
+    @Mock
+    private AuthenticationManager authenticationManager;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoginGuard loginGuard;
+
+    @BeforeEach
+    void setUp() {
+        LoginProtectionProperties properties = new LoginProtectionProperties();
+        properties.setUsername(new LoginProtectionProperties.Throttle(2, Duration.ofHours(1)));
+        properties.getExecutor().setThreads(4);
+        meterRegistry = new SimpleMeterRegistry();
+        loginGuard = new LoginGuard(authenticationManager, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        loginGuard.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should reject attempts once the username has used up its failures, before verifying the password")
+    void testThrottlesUsername() {
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        assertThrows(BadCredentialsException.class, () -> loginGuard.authenticate("admin", "wrong", "10.0.0.1"));
+        assertThrows(BadCredentialsException.class, () -> loginGuard.authenticate("ADMIN", "wrong", "10.0.0.2"));
+
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> loginGuard.authenticate("Admin", "secret", "10.0.0.3"));
+        assertTrue(ex.getRetryAfterSeconds() > 0);
+        verify(authenticationManager, times(2)).authenticate(any());
+        assertEquals(1.0, meterRegistry.counter("login.rejected", "reason", "username_throttled").count());
+    }
+
+    @Test
+    @DisplayName("Should throttle parallel bad passwords for one username before the first one fails")
+    void testThrottlesParallelGuesses() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(authenticationManager.authenticate(any())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            throw new BadCredentialsException("Bad credentials");
+        });
+
+        int attempts = 10;
+        CountDownLatch throttled = new CountDownLatch(attempts - 2);
+        ExecutorService clients = Executors.newFixedThreadPool(attempts);
+        List<Future<User>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < attempts; i++) {
+                String clientAddress = "10.0.0." + i;
+                results.add(clients.submit(() -> {
+                    try {
+                        return loginGuard.authenticate("admin", "guess", clientAddress);
+                    } catch (TooManyRequestsException e) {
+                        throttled.countDown();
+                        throw e;
+                    }
+                }));
+            }
+            // The guesses being verified have not failed yet while the others are turned away
+            assertTrue(throttled.await(5, TimeUnit.SECONDS), "parallel guesses were not throttled");
+            release.countDown();
+
+            int badCredentials = 0;
+            for (Future<User> result : results) {
+                ExecutionException ex = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+                if (ex.getCause() instanceof BadCredentialsException) {
+                    badCredentials++;
+                }
+            }
+            assertEquals(2, badCredentials);
+        } finally {
+            release.countDown();
+            clients.shutdownNow();
+        }
+        verify(authenticationManager, times(2)).authenticate(any());
+        assertEquals(8.0, meterRegistry.counter("login.rejected", "reason", "username_throttled").count());
+    }
+
+    @Test
+    @DisplayName("Should not charge successful logins to the username")
+    void testSuccessfulLoginsNotThrottled() {
+        User user = User.builder().id(1L).username("admin").build();
+        when(authenticationManager.authenticate(any()))
+                .thenReturn(new UsernamePasswordAuthenticationToken(user, null, List.of()));
+
+        for (int i = 0; i < 5; i++) {
+            assertSame(user, loginGuard.authenticate("admin", "secret", "10.0.0." + i));
+        }
+        assertEquals(0.0, meterRegistry.counter("login.rejected", "reason", "username_throttled").count());
+    }
+
+    @Test
+    @DisplayName("Should propagate bad credentials from the login pool")
+    void testPropagatesBadCredentials() {
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        assertThrows(BadCredentialsException.class, () -> loginGuard.authenticate("admin", "wrong", "10.0.0.1"));
+        assertEquals(1, meterRegistry.timer("login.password.verification").count());
+    }
+}
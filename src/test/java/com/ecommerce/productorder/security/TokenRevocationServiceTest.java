@@ -0,0 +1,117 @@
+package com.ecommerce.productorder.security;
+
+import com.ecommerce.productorder.repository.RevokedTokenRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Token Revocation Service Tests")
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    @Mock
+    private TokenVersionService tokenVersionService;
+
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager(TokenRevocationService.CACHE_NAME);
+    private final Date expiration = new Date(System.currentTimeMillis() + 60_000);
+
+    @BeforeEach
+    void setUp() {
+        when(revokedTokenRepository.findActiveJtis(any())).thenReturn(List.of());
+    }
+
+    @Test
+    @DisplayName("Should treat a duplicate jti as already revoked")
+    void testConcurrentRevocation() {
+        TokenRevocationService service = service(Duration.ofMinutes(5));
+        when(revokedTokenRepository.saveAndFlush(any()))
+                .thenThrow(new DataIntegrityViolationException("Unique index or primary key violation"));
+        when(revokedTokenRepository.findActiveJtis(any())).thenReturn(List.of("jti-1"));
+
+        assertDoesNotThrow(() -> service.revoke("jti-1", 7L, expiration));
+
+        assertTrue(service.isRevoked("jti-1"));
+        assertNotNull(cacheManager.getCache(TokenRevocationService.CACHE_NAME).get("revision"));
+    }
+
+    @Test
+    @DisplayName("Should reload the list when another node publishes a new revision")
+    void testRevisionSync() {
+        TokenRevocationService service = service(Duration.ofMinutes(5));
+        service.sync();
+        verify(revokedTokenRepository, times(1)).findActiveJtis(any());
+
+        // Another node revoked a token
+        when(revokedTokenRepository.findActiveJtis(any())).thenReturn(List.of("jti-2"));
+        cacheManager.getCache(TokenRevocationService.CACHE_NAME).put("revision", "other-node");
+        service.sync();
+
+        assertTrue(service.isRevoked("jti-2"));
+        service.sync();
+        verify(revokedTokenRepository, times(2)).findActiveJtis(any());
+    }
+
+    @Test
+    @DisplayName("Should reload the list once it is older than the maximum staleness, even without a new revision")
+    void testPeriodicReload() {
+        TokenRevocationService service = service(Duration.ZERO);
+        when(revokedTokenRepository.findActiveJtis(any())).thenReturn(List.of("jti-3"));
+
+        service.sync();
+
+        assertTrue(service.isRevoked("jti-3"));
+        verify(revokedTokenRepository, times(2)).findActiveJtis(any());
+    }
+
+    @Test
+    @DisplayName("Should keep the current list when the reload fails")
+    void testSyncFailure() {
+        TokenRevocationService service = service(Duration.ZERO);
+        when(revokedTokenRepository.findActiveJtis(any()))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        assertDoesNotThrow(service::sync);
+        assertFalse(service.isRevoked("jti-4"));
+    }
+
+    @Test
+    @DisplayName("Should purge expired revocations and survive a failed purge")
+    void testPurgeExpired() {
+        TokenRevocationService service = service(Duration.ofMinutes(5));
+        when(revokedTokenRepository.deleteExpired(any())).thenReturn(3)
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        service.purgeExpired();
+        assertDoesNotThrow(service::purgeExpired);
+
+        verify(revokedTokenRepository, times(2)).deleteExpired(any());
+    }
+
+    private TokenRevocationService service(Duration maxStaleness) {
+        TokenRevocationService service = new TokenRevocationService(revokedTokenRepository, jwtUtil,
+                tokenVersionService, cacheManager, maxStaleness);
+        service.init();
+        return service;
+    }
+}
@@ -11,6 +11,7 @@ import com.ecommerce.productorder.model.entity.Product;
 import com.ecommerce.productorder.model.entity.User;
 import com.ecommerce.productorder.model.enums.UserRole;
 import com.ecommerce.productorder.repository.OrderRepository;
+import com.ecommerce.productorder.repository.projection.UserSummary;
 import com.ecommerce.productorder.service.discount.DiscountCalculator;
 import com.ecommerce.productorder.service.impl.OrderServiceImpl;
 import org.junit.jupiter.api.AfterEach;
@@ -36,10 +37,13 @@ import org.springframework.test.util.ReflectionTestUtils;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -56,7 +60,7 @@ class OrderServiceTest {
     private DiscountCalculator discountCalculator;
 
     @Mock
-    private UserService userService;
+    private UserDirectory userDirectory;
 
     @Mock
     private ProductService productService;
@@ -123,6 +127,9 @@ class OrderServiceTest {
         SecurityContextHolder.setContext(securityContext);
         when(securityContext.getAuthentication()).thenReturn(authentication);
         when(authentication.getPrincipal()).thenReturn(testUser);
+        when(userDirectory.getCurrentUserReference()).thenReturn(testUser);
+        when(userDirectory.getSummaries(anyCollection()))
+                .thenReturn(Map.of(1L, new UserSummary(1L, "testuser", UserRole.USER)));
     }
 
     @AfterEach
@@ -133,8 +140,7 @@ class OrderServiceTest {
     @Test
     @DisplayName("Should create order successfully")
     void testCreateOrder() {
-        when(userService.getUserByUsername("testuser")).thenReturn(testUser);
-        when(productService.getProduct(1L)).thenReturn(testProduct);
+        when(productService.reserveStock(1L, 2)).thenReturn(testProduct);
         when(discountCalculator.calculateTotalDiscount(any(BigDecimal.class), any(UserRole.class)))
                 .thenReturn(BigDecimal.ZERO);
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
@@ -144,15 +150,16 @@ class OrderServiceTest {
         assertNotNull(response);
         assertEquals(testOrder.getId(), response.getId());
         assertEquals(testOrder.getOrderTotal(), response.getOrderTotal());
+        assertEquals("testuser", response.getUsername());
         verify(orderRepository, times(1)).save(any(Order.class));
-        verify(productService, times(1)).saveProduct(any(Product.class));
+        verify(productService, times(1)).reserveStock(1L, 2);
+        verify(productService, never()).saveProduct(any(Product.class));
     }
 
     @Test
     @DisplayName("Should throw exception when product not found during order creation")
     void testCreateOrderProductNotFound() {
-        when(userService.getUserByUsername("testuser")).thenReturn(testUser);
-        when(productService.getProduct(anyLong())).thenThrow(new ResourceNotFoundException("Product", "id", 999L));
+        when(productService.reserveStock(anyLong(), anyInt())).thenThrow(new ResourceNotFoundException("Product", "id", 999L));
 
         assertThrows(ResourceNotFoundException.class, () -> {
             orderService.createOrder(orderRequest);
@@ -162,16 +169,7 @@ class OrderServiceTest {
     @Test
     @DisplayName("Should throw exception when insufficient stock")
     void testCreateOrderInsufficientStock() {
-        Product lowStockProduct = Product.builder()
-                .name("Low Stock Product")
-                .description("Test Description")
-                .price(new BigDecimal("100.00"))
-                .quantity(1)
-                .build();
-        ReflectionTestUtils.setField(lowStockProduct, "id", 1L);
-
-        when(userService.getUserByUsername("testuser")).thenReturn(testUser);
-        when(productService.getProduct(1L)).thenReturn(lowStockProduct);
+        when(productService.reserveStock(1L, 2)).thenThrow(new InsufficientStockException("Low Stock Product", 2, 1));
 
         assertThrows(InsufficientStockException.class, () -> {
             orderService.createOrder(orderRequest);
@@ -200,13 +198,43 @@ class OrderServiceTest {
         });
     }
 
+    @Test
+    @DisplayName("Should hide an order owned by another user")
+    void testGetOrderByIdOfOtherUser() {
+        User otherUser = User.builder().username("otheruser").role(UserRole.USER).build();
+        ReflectionTestUtils.setField(otherUser, "id", 2L);
+        testOrder.setUser(otherUser);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+
+        assertThrows(ResourceNotFoundException.class, () -> orderService.getOrderById(1L));
+    }
+
+    @Test
+    @DisplayName("Should hide an order owned by another user before checking its version")
+    void testGetOrderIfModifiedOfOtherUser() {
+        User otherUser = User.builder().username("otheruser").role(UserRole.USER).build();
+        ReflectionTestUtils.setField(otherUser, "id", 2L);
+        testOrder.setUser(otherUser);
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+
+        assertThrows(ResourceNotFoundException.class, () -> orderService.getOrderIfModified(1L, updatedAt -> true));
+    }
+
+    @Test
+    @DisplayName("Should return no order when the caller holds its current version")
+    void testGetOrderIfModifiedNotModified() {
+        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
+
+        assertNull(orderService.getOrderIfModified(1L, updatedAt -> true));
+        verifyNoInteractions(userDirectory);
+    }
+
     @Test
     @DisplayName("Should get user orders with pagination")
     void testGetUserOrders() {
         Pageable pageable = PageRequest.of(0, 10);
         Page<Order> orderPage = new PageImpl<>(List.of(testOrder));
 
-        when(userService.getUserByUsername("testuser")).thenReturn(testUser);
         when(orderRepository.findByUserIdOrderByCreatedAtDesc(1L, pageable))
                 .thenReturn(orderPage);
 
@@ -247,8 +275,7 @@ class OrderServiceTest {
                 .build();
         ReflectionTestUtils.setField(discountedOrder, "id", 2L);
 
-        when(userService.getUserByUsername("testuser")).thenReturn(testUser);
-        when(productService.getProduct(1L)).thenReturn(testProduct);
+        when(productService.reserveStock(1L, 2)).thenReturn(testProduct);
         when(discountCalculator.calculateTotalDiscount(any(BigDecimal.class), any(UserRole.class)))
                 .thenReturn(discount);
         when(orderRepository.save(any(Order.class))).thenReturn(discountedOrder);
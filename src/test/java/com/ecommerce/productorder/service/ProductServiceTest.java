@@ -1,5 +1,6 @@
 package com.ecommerce.productorder.service;
 
+import com.ecommerce.productorder.exception.InsufficientStockException;
 import com.ecommerce.productorder.exception.ResourceNotFoundException;
 import com.ecommerce.productorder.model.dto.request.ProductRequest;
 import com.ecommerce.productorder.model.dto.response.ProductResponse;
@@ -13,6 +14,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -20,6 +23,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -29,6 +34,9 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private ProductServiceImpl productService;
 
@@ -158,4 +166,41 @@ class ProductServiceTest {
             product.decreaseQuantity(100);
         });
     }
+
+    @Test
+    @DisplayName("Should reserve stock in the database, evict the cached product and return the current product")
+    void testReserveStock() {
+        Cache products = mock(Cache.class);
+        Cache productBytes = mock(Cache.class);
+        when(cacheManager.getCache("products")).thenReturn(products);
+        when(cacheManager.getCache("productBytes")).thenReturn(productBytes);
+        when(productRepository.decreaseQuantity(eq(1L), eq(3), any(LocalDateTime.class), isNull())).thenReturn(1);
+        when(productRepository.findCurrentById(1L)).thenReturn(Optional.of(product));
+
+        assertSame(product, productService.reserveStock(1L, 3));
+        verify(productRepository, never()).save(any(Product.class));
+        verify(products).evict(1L);
+        verify(productBytes).evict(1L);
+    }
+
+    @Test
+    @DisplayName("Should throw exception when the stock could not be reserved")
+    void testReserveStockInsufficient() {
+        when(productRepository.decreaseQuantity(eq(1L), eq(100), any(LocalDateTime.class), isNull())).thenReturn(0);
+        when(productRepository.findCurrentById(1L)).thenReturn(Optional.of(product));
+
+        InsufficientStockException exception = assertThrows(InsufficientStockException.class,
+                () -> productService.reserveStock(1L, 100));
+        assertTrue(exception.getMessage().contains("Available: 10"));
+        verifyNoInteractions(cacheManager);
+    }
+
+    @Test
+    @DisplayName("Should throw exception when reserving stock of a missing product")
+    void testReserveStockProductNotFound() {
+        when(productRepository.decreaseQuantity(eq(999L), eq(1), any(LocalDateTime.class), isNull())).thenReturn(0);
+        when(productRepository.findCurrentById(999L)).thenReturn(Optional.empty());
+
+        assertThrows(ResourceNotFoundException.class, () -> productService.reserveStock(999L, 1));
+    }
 }